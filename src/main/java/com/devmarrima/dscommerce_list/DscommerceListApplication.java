@@ -2,8 +2,10 @@ package com.devmarrima.dscommerce_list;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DscommerceListApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,71 @@
+package com.devmarrima.dscommerce_list.config;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ativado quando {@code datasource.replica.jdbc-url} é informado. O primário
+ * continua configurado por {@code spring.datasource.*} e
+ * {@code spring.datasource.hikari.*}; a réplica tem seu próprio pool em
+ * {@code datasource.replica.*}. Os dois pools são beans, então aparecem nas
+ * métricas {@code hikaricp.*} com os nomes {@code primary} e {@code replica}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.jdbc-url")
+public class ReadWriteRoutingConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("datasource.replica")
+	public HikariDataSource replicaDataSource() {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+			@Value("${datasource.replica.lag-query:}") String lagQuery,
+			@Value("${datasource.replica.max-lag-millis}") long maxLagMillis, MeterRegistry registry) {
+		return new ReplicaLagMonitor(replica, lagQuery, maxLagMillis, registry);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+			@Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagMonitor, registry);
+		routing.setTargetDataSources(Map.of(ReadWriteRoutingDataSource.PRIMARY, primary,
+				ReadWriteRoutingDataSource.REPLICA, replica));
+		routing.setDefaultTargetDataSource(primary);
+		routing.afterPropertiesSet();
+		LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+		proxy.setDefaultAutoCommit(true);
+		proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		return proxy;
+	}
+}
@@ -0,0 +1,47 @@
+package com.devmarrima.dscommerce_list.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Envia conexões de transações {@code readOnly} para a réplica e as demais
+ * para o primário. Precisa ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * a conexão só é escolhida no primeiro comando, quando a transação já foi
+ * marcada como somente leitura.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	public static final String PRIMARY = "primary";
+	public static final String REPLICA = "replica";
+
+	private final ReplicaLagMonitor lagMonitor;
+	private final Counter primaryConnections;
+	private final Counter replicaConnections;
+	private final Counter fallbacks;
+
+	public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+		this.lagMonitor = lagMonitor;
+		primaryConnections = Counter.builder("datasource.routing.connections").tag("target", PRIMARY).register(registry);
+		replicaConnections = Counter.builder("datasource.routing.connections").tag("target", REPLICA).register(registry);
+		fallbacks = Counter.builder("datasource.routing.fallbacks").register(registry);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			primaryConnections.increment();
+			return PRIMARY;
+		}
+		if (!lagMonitor.isReplicaUsable()) {
+			fallbacks.increment();
+			primaryConnections.increment();
+			return PRIMARY;
+		}
+		replicaConnections.increment();
+		return REPLICA;
+	}
+}
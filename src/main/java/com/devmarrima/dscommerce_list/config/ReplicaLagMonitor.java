@@ -0,0 +1,56 @@
+package com.devmarrima.dscommerce_list.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Atraso conhecido da réplica. Pode ser informado por fora com
+ * {@link #report(long)} ou medido periodicamente com a consulta configurada em
+ * {@code datasource.replica.lag-query}, que deve devolver o atraso em
+ * milissegundos. Acima de {@code max-lag-millis}, ou se a consulta falhar, as
+ * leituras voltam para o primário.
+ */
+public class ReplicaLagMonitor {
+
+	private final JdbcTemplate replica;
+	private final String lagQuery;
+	private final long maxLagMillis;
+	private volatile long lagMillis;
+
+	public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, MeterRegistry registry) {
+		this.replica = new JdbcTemplate(replica);
+		this.lagQuery = lagQuery;
+		this.maxLagMillis = maxLagMillis;
+		Gauge.builder("datasource.replica.lag.millis", this, ReplicaLagMonitor::getLagMillis).register(registry);
+	}
+
+	public boolean isReplicaUsable() {
+		return lagMillis <= maxLagMillis;
+	}
+
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	public void report(long lagMillis) {
+		this.lagMillis = lagMillis;
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-millis}")
+	public void check() {
+		if (lagQuery == null || lagQuery.isBlank()) {
+			return;
+		}
+		try {
+			Number lag = replica.queryForObject(lagQuery, Number.class);
+			report((lag == null) ? 0 : lag.longValue());
+		} catch (RuntimeException e) {
+			report(Long.MAX_VALUE);
+		}
+	}
+}
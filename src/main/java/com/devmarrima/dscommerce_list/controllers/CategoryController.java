@@ -1,15 +1,15 @@
 package com.devmarrima.dscommerce_list.controllers;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.devmarrima.dscommerce_list.dto.CategoryDTO;
 import com.devmarrima.dscommerce_list.services.CategoryService;
+import com.devmarrima.dscommerce_list.services.cache.CategoryListSnapshot;
 
 @RestController
 @RequestMapping(value = "/categories")
@@ -19,9 +19,12 @@ public class CategoryController {
 	private CategoryService service;
 
 	@GetMapping
-	public ResponseEntity<List<CategoryDTO>> findAll() {
-		List<CategoryDTO> dto = service.findAll();
-		return ResponseEntity.ok(dto);
+	public ResponseEntity<byte[]> findAll(WebRequest request) {
+		CategoryListSnapshot snapshot = service.findAllSnapshot();
+		if (request.checkNotModified(snapshot.etag())) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(snapshot.etag()).contentType(MediaType.APPLICATION_JSON).body(snapshot.json());
 	}
 
 }
@@ -1,19 +1,36 @@
 package com.devmarrima.dscommerce_list.controllers;
 
-import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.devmarrima.dscommerce_list.dto.CursorPageDTO;
 import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.dto.OrderStatusResultDTO;
+import com.devmarrima.dscommerce_list.dto.OrderStatusUpdateDTO;
+import com.devmarrima.dscommerce_list.dto.VersionedDTO;
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+import com.devmarrima.dscommerce_list.services.ExportService;
+import com.devmarrima.dscommerce_list.services.OrderIdempotencyService;
+import com.devmarrima.dscommerce_list.services.OrderIngestionService;
+import com.devmarrima.dscommerce_list.services.OrderStatusService;
 import com.devmarrima.dscommerce_list.services.OrderService;
 
 import jakarta.validation.Valid;
@@ -25,18 +42,69 @@ public class OrderController {
 	@Autowired
 	private OrderService service;
 
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private OrderIdempotencyService idempotencyService;
+
+	@Autowired
+	private OrderIngestionService ingestionService;
+
+	@Autowired
+	private OrderStatusService statusService;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+		boolean csv = ExportService.isCsv(format);
+		StreamingResponseBody body = out -> exportService.exportOrders(out, csv);
+		return ResponseEntity.ok()
+				.contentType(csv ? MediaType.valueOf("text/csv") : MediaType.valueOf("application/x-ndjson"))
+				.body(body);
+	}
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
-	@GetMapping(value = ("/{id}"))
-	public ResponseEntity<OrderDTO> findById(@PathVariable Long id) {
-		OrderDTO dto = service.findById(id);
+	@GetMapping
+	public ResponseEntity<CursorPageDTO<OrderDTO>> findAll(
+			@RequestParam(name = "clientId", required = false) Long clientId,
+			@RequestParam(name = "status", required = false) OrderStatus status,
+			@RequestParam(name = "after", defaultValue = "") String after,
+			@RequestParam(name = "size", defaultValue = "20") int size) {
+		size = Math.max(1, Math.min(size, 100));
+		CursorPageDTO<OrderDTO> dto = service.findAllAfter(clientId, status, after, size);
 		return ResponseEntity.ok(dto);
 	}
 
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_CLIENT')")
+	@GetMapping(value = ("/{id}"))
+	public ResponseEntity<OrderDTO> findById(@PathVariable Long id, WebRequest request) {
+		VersionedDTO<OrderDTO> dto = service.findById(id);
+		if (request.checkNotModified(dto.etag(), dto.lastModified())) {
+			return null;
+		}
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(dto.etag());
+		if (dto.getUpdatedAt() != null) {
+			response.lastModified(dto.getUpdatedAt());
+		}
+		return response.body(dto.getBody());
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PatchMapping(value = "/status")
+	public ResponseEntity<List<OrderStatusResultDTO>> updateStatus(@Valid @RequestBody OrderStatusUpdateDTO dto) {
+		List<OrderStatusResultDTO> result = statusService.updateStatus(dto.getIds(), dto.getStatus());
+		return ResponseEntity.ok(result);
+	}
+
 	@PreAuthorize("hasAnyRole('ROLE_CLIENT')")
 	@PostMapping
-	public ResponseEntity<OrderDTO> insert(@Valid @RequestBody OrderDTO dto) {
-		dto = service.insert(dto);
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(dto.getId()).toUri();
-		return ResponseEntity.created(uri).body(dto);
+	public CompletableFuture<ResponseEntity<OrderDTO>> insert(@Valid @RequestBody OrderDTO dto,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+		UriComponentsBuilder uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+		CompletableFuture<OrderDTO> result = (idempotencyKey == null) ? ingestionService.submit(dto)
+				: CompletableFuture.completedFuture(idempotencyService.insert(idempotencyKey, dto));
+		return result.thenApply(x -> ResponseEntity.created(uri.buildAndExpand(x.getId()).toUri()).body(x));
 	}
 }
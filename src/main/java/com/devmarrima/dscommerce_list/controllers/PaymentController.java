@@ -0,0 +1,29 @@
+package com.devmarrima.dscommerce_list.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devmarrima.dscommerce_list.dto.PaymentConfirmationDTO;
+import com.devmarrima.dscommerce_list.services.PaymentPipeline;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping(value = "/payments")
+public class PaymentController {
+
+	@Autowired
+	private PaymentPipeline pipeline;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping
+	public ResponseEntity<Void> confirm(@Valid @RequestBody PaymentConfirmationDTO dto) {
+		pipeline.submit(dto);
+		return ResponseEntity.accepted().build();
+	}
+}
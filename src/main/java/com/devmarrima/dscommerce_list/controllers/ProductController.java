@@ -1,10 +1,15 @@
 package com.devmarrima.dscommerce_list.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,14 +18,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.devmarrima.dscommerce_list.dto.CursorPageDTO;
+import com.devmarrima.dscommerce_list.dto.FacetedPageDTO;
+import com.devmarrima.dscommerce_list.dto.ImportReportDTO;
 import com.devmarrima.dscommerce_list.dto.ProductDTO;
 import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
+import com.devmarrima.dscommerce_list.dto.ProductSuggestionDTO;
+import com.devmarrima.dscommerce_list.dto.SliceDTO;
+import com.devmarrima.dscommerce_list.dto.VersionedDTO;
+import com.devmarrima.dscommerce_list.services.ExportService;
+import com.devmarrima.dscommerce_list.services.ProductImportService;
 import com.devmarrima.dscommerce_list.services.ProductService;
+import com.devmarrima.dscommerce_list.services.exceptions.PreconditionFailedException;
 
 import jakarta.validation.Valid;
 
@@ -31,10 +48,34 @@ public class ProductController {
 	@Autowired
 	private ProductService service;
 
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private ProductImportService importService;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export(
+			@RequestParam(name = "format", defaultValue = "ndjson") String format) {
+		boolean csv = ExportService.isCsv(format);
+		StreamingResponseBody body = out -> exportService.exportProducts(out, csv);
+		return ResponseEntity.ok()
+				.contentType(csv ? MediaType.valueOf("text/csv") : MediaType.valueOf("application/x-ndjson"))
+				.body(body);
+	}
+
 	@GetMapping(value = ("/{id}"))
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
-		ProductDTO dto = service.findById(id);
-		return ResponseEntity.ok(dto);
+	public ResponseEntity<ProductDTO> findById(@PathVariable Long id, WebRequest request) {
+		VersionedDTO<ProductDTO> dto = service.findById(id);
+		if (request.checkNotModified(dto.etag(), dto.lastModified())) {
+			return null;
+		}
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(dto.etag());
+		if (dto.getUpdatedAt() != null) {
+			response.lastModified(dto.getUpdatedAt());
+		}
+		return response.body(dto.getBody());
 	}
 
 	@GetMapping
@@ -44,6 +85,51 @@ public class ProductController {
 		return ResponseEntity.ok(dto);
 	}
 
+	@GetMapping(value = "/suggest")
+	public ResponseEntity<List<ProductSuggestionDTO>> suggest(@RequestParam(name = "prefix") String prefix,
+			@RequestParam(name = "limit", defaultValue = "10") int limit) {
+		limit = Math.max(1, Math.min(limit, 50));
+		List<ProductSuggestionDTO> dto = service.suggest(prefix, limit);
+		return ResponseEntity.ok(dto);
+	}
+
+	@GetMapping(params = "fuzzy")
+	public ResponseEntity<List<ProductMinDTO>> findAllFuzzy(@RequestParam(name = "name") String name,
+			@RequestParam(name = "maxDistance", required = false) Integer maxDistance,
+			@RequestParam(name = "limit", defaultValue = "20") int limit) {
+		limit = Math.max(1, Math.min(limit, 100));
+		List<ProductMinDTO> dto = service.findAllFuzzy(name, maxDistance, limit);
+		return ResponseEntity.ok(dto);
+	}
+
+	@GetMapping(params = "slice")
+	public ResponseEntity<SliceDTO<ProductMinDTO>> findAllSlice(
+			@RequestParam(name = "name", defaultValue = "") String name, Pageable pageable) {
+		SliceDTO<ProductMinDTO> dto = service.findAllSlice(name, pageable);
+		return ResponseEntity.ok(dto);
+	}
+
+	@GetMapping(params = "facets")
+	public ResponseEntity<FacetedPageDTO> findAllFaceted(
+			@RequestParam(name = "name", defaultValue = "") String name,
+			@RequestParam(name = "categoryId", required = false) List<Long> categoryIds,
+			@RequestParam(name = "minPrice", required = false) Double minPrice,
+			@RequestParam(name = "maxPrice", required = false) Double maxPrice, Pageable pageable) {
+		FacetedPageDTO dto = service.findAllFaceted(name, categoryIds, minPrice, maxPrice, pageable);
+		return ResponseEntity.ok(dto);
+	}
+
+	@GetMapping(params = "after")
+	public ResponseEntity<CursorPageDTO<ProductMinDTO>> findAllAfter(
+			@RequestParam(name = "name", defaultValue = "") String name,
+			@RequestParam(name = "sort", defaultValue = "id") String sort,
+			@RequestParam(name = "after") String after,
+			@RequestParam(name = "size", defaultValue = "20") int size) {
+		size = Math.max(1, Math.min(size, 100));
+		CursorPageDTO<ProductMinDTO> dto = service.findAllAfter(name, sort, after, size);
+		return ResponseEntity.ok(dto);
+	}
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
 	@PostMapping
 	public ResponseEntity<ProductDTO> insert(@Valid @RequestBody ProductDTO dto) {
@@ -52,10 +138,20 @@ public class ProductController {
 		return ResponseEntity.created(uri).body(dto);
 	}
 
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+	public ResponseEntity<ImportReportDTO> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			InputStream body) throws IOException {
+		boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"));
+		ImportReportDTO dto = importService.importProducts(body, csv);
+		return ResponseEntity.ok(dto);
+	}
+
 	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
 	@PutMapping(value = ("/{id}"))
-	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto) {
-		dto = service.update(id, dto);
+	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @Valid @RequestBody ProductDTO dto,
+			@RequestHeader(name = "If-Match", required = false) String ifMatch) {
+		dto = service.update(id, dto, parseIfMatch(ifMatch));
 		return ResponseEntity.ok(dto);
 	}
 
@@ -65,4 +161,19 @@ public class ProductController {
 		service.delete(id);
 		return ResponseEntity.noContent().build();
 	}
+
+	private Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String value = ifMatch.trim();
+		if (value.startsWith("W/")) {
+			throw new PreconditionFailedException("If-Match exige ETag forte");
+		}
+		try {
+			return Long.valueOf(value.replace("\"", ""));
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("If-Match inválido");
+		}
+	}
 }
@@ -0,0 +1,43 @@
+package com.devmarrima.dscommerce_list.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.devmarrima.dscommerce_list.dto.SalesReportDTO;
+import com.devmarrima.dscommerce_list.entities.SalesDimension;
+import com.devmarrima.dscommerce_list.services.SalesRollupService;
+
+@RestController
+@RequestMapping(value = "/reports")
+public class ReportController {
+
+	@Autowired
+	private SalesRollupService service;
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping(value = "/sales/products")
+	public ResponseEntity<List<SalesReportDTO>> salesByProduct(
+			@RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		List<SalesReportDTO> dto = service.report(SalesDimension.PRODUCT, from, to);
+		return ResponseEntity.ok(dto);
+	}
+
+	@PreAuthorize("hasAnyRole('ROLE_ADMIN')")
+	@GetMapping(value = "/sales/categories")
+	public ResponseEntity<List<SalesReportDTO>> salesByCategory(
+			@RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		List<SalesReportDTO> dto = service.report(SalesDimension.CATEGORY, from, to);
+		return ResponseEntity.ok(dto);
+	}
+}
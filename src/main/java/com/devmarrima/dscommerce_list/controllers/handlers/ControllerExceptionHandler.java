@@ -2,6 +2,7 @@ package com.devmarrima.dscommerce_list.controllers.handlers;
 
 import java.time.Instant;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,9 +12,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.devmarrima.dscommerce_list.dto.CustomErrorDTO;
 import com.devmarrima.dscommerce_list.dto.ValidationError;
+import com.devmarrima.dscommerce_list.services.exceptions.ConflictException;
 import com.devmarrima.dscommerce_list.services.exceptions.DataBaseException;
 import com.devmarrima.dscommerce_list.services.exceptions.ForbiddenException;
+import com.devmarrima.dscommerce_list.services.exceptions.InvalidCursorException;
+import com.devmarrima.dscommerce_list.services.exceptions.InvalidFormatException;
+import com.devmarrima.dscommerce_list.services.exceptions.PreconditionFailedException;
+import com.devmarrima.dscommerce_list.services.exceptions.PreconditionRequiredException;
 import com.devmarrima.dscommerce_list.services.exceptions.ResourceNotFoundException;
+import com.devmarrima.dscommerce_list.services.exceptions.ServiceUnavailableException;
+import com.devmarrima.dscommerce_list.services.exceptions.UnprocessableEntityException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -53,4 +61,65 @@ public class ControllerExceptionHandler {
         CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
         return ResponseEntity.status(status).body(err);
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<CustomErrorDTO> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(InvalidFormatException.class)
+    public ResponseEntity<CustomErrorDTO> invalidFormat(InvalidFormatException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<CustomErrorDTO> preconditionFailed(PreconditionFailedException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(PreconditionRequiredException.class)
+    public ResponseEntity<CustomErrorDTO> preconditionRequired(PreconditionRequiredException e,
+            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.PRECONDITION_REQUIRED;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<CustomErrorDTO> optimisticLocking(OptimisticLockingFailureException e,
+            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), "Recurso alterado por outra requisição",
+                request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<CustomErrorDTO> conflict(ConflictException e, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.CONFLICT;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(UnprocessableEntityException.class)
+    public ResponseEntity<CustomErrorDTO> unprocessableEntity(UnprocessableEntityException e,
+            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.UNPROCESSABLE_ENTITY;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<CustomErrorDTO> serviceUnavailable(ServiceUnavailableException e,
+            HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        CustomErrorDTO err = new CustomErrorDTO(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(err);
+    }
+}
@@ -0,0 +1,30 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorPageDTO<T> {
+    private List<T> content = new ArrayList<>();
+    private String next;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> content, String next) {
+        this.content = content;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isHasNext() {
+        return next != null;
+    }
+
+}
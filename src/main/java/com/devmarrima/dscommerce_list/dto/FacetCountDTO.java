@@ -0,0 +1,20 @@
+package com.devmarrima.dscommerce_list.dto;
+
+public class FacetCountDTO {
+    private Long id;
+    private Long count;
+
+    public FacetCountDTO(Long id, Long count) {
+        this.id = id;
+        this.count = count;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FacetedPageDTO {
+    private List<ProductMinDTO> content = new ArrayList<>();
+    private long totalElements;
+    private int number;
+    private int size;
+    private List<FacetCountDTO> categories = new ArrayList<>();
+    private List<PriceBucketDTO> prices = new ArrayList<>();
+
+    public FacetedPageDTO(List<ProductMinDTO> content, long totalElements, int number, int size) {
+        this.content = content;
+        this.totalElements = totalElements;
+        this.number = number;
+        this.size = size;
+    }
+
+    public List<ProductMinDTO> getContent() {
+        return content;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<FacetCountDTO> getCategories() {
+        return categories;
+    }
+
+    public List<PriceBucketDTO> getPrices() {
+        return prices;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportReportDTO {
+    private static final int MAX_ERRORS = 1000;
+
+    private long imported;
+    private long failed;
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportErrorDTO(line, message));
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+}
@@ -16,6 +16,8 @@ public class OrderDTO {
     private OrderStatus status;
     private ClientDTO client;
     private PaymentDTO payment;
+    private Double total;
+    private Integer itemCount;
 
     @NotEmpty(message = "Tem que ter pelomenos um item")
     private List<OrderItemDTO> items = new ArrayList<>();
@@ -37,6 +39,8 @@ public class OrderDTO {
         status = entity.getStatus();
         client = new ClientDTO(entity.getClient());
         payment = (entity.getPayment() == null) ? null : new PaymentDTO(entity.getPayment());
+        total = entity.getTotal();
+        itemCount = entity.getItemCount();
 
         for (OrderItem items : entity.getItems()) {
             this.items.add(new OrderItemDTO(items));
@@ -68,6 +72,9 @@ public class OrderDTO {
     }
 
     public Double getTotal() {
+        if (total != null) {
+            return total;
+        }
         double som = 0.0;
         for (OrderItemDTO item : items) {
             som += item.getSubtotal();
@@ -75,4 +82,15 @@ public class OrderDTO {
         return som;
     }
 
+    public Integer getItemCount() {
+        if (itemCount != null) {
+            return itemCount;
+        }
+        int count = 0;
+        for (OrderItemDTO item : items) {
+            count += item.getQuantity();
+        }
+        return count;
+    }
+
 }
@@ -0,0 +1,33 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+
+public class OrderStatusResultDTO {
+    public static final String UPDATED = "UPDATED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String INVALID_TRANSITION = "INVALID_TRANSITION";
+    public static final String CONFLICT = "CONFLICT";
+
+    private Long id;
+    private OrderStatus previous;
+    private String result;
+
+    public OrderStatusResultDTO(Long id, OrderStatus previous, String result) {
+        this.id = id;
+        this.previous = previous;
+        this.result = result;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public OrderStatus getPrevious() {
+        return previous;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+}
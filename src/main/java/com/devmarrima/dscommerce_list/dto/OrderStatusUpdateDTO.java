@@ -0,0 +1,36 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class OrderStatusUpdateDTO {
+    @NotEmpty(message = "Informe ao menos um pedido")
+    @Size(max = 100000, message = "No máximo 100000 pedidos por requisição")
+    private List<Long> ids = new ArrayList<>();
+
+    @NotNull(message = "Campo requerido")
+    private OrderStatus status;
+
+    public OrderStatusUpdateDTO() {
+    }
+
+    public OrderStatusUpdateDTO(List<Long> ids, OrderStatus status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+}
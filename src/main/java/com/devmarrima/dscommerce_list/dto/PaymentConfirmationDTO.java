@@ -0,0 +1,28 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.time.Instant;
+
+import jakarta.validation.constraints.NotNull;
+
+public class PaymentConfirmationDTO {
+    @NotNull(message = "Campo requerido")
+    private Long orderId;
+    private Instant moment;
+
+    public PaymentConfirmationDTO() {
+    }
+
+    public PaymentConfirmationDTO(Long orderId, Instant moment) {
+        this.orderId = orderId;
+        this.moment = moment;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Instant getMoment() {
+        return moment;
+    }
+
+}
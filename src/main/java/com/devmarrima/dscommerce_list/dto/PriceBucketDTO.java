@@ -0,0 +1,26 @@
+package com.devmarrima.dscommerce_list.dto;
+
+public class PriceBucketDTO {
+    private Double from;
+    private Double to;
+    private Long count;
+
+    public PriceBucketDTO(Double from, Double to, Long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    public Double getFrom() {
+        return from;
+    }
+
+    public Double getTo() {
+        return to;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+}
@@ -10,6 +10,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 
 public class ProductDTO {
@@ -25,6 +26,8 @@ public class ProductDTO {
 	@Positive(message = "O preço tem que ser positivo")
 	private Double price;
 	private String imgUrl;
+	@PositiveOrZero(message = "O estoque não pode ser negativo")
+	private Integer stock;
 
 	@NotEmpty(message = "Tem que ter pelomenos uma categoria")
 	private List<CategoryDTO> categories = new ArrayList<>();
@@ -34,11 +37,16 @@ public class ProductDTO {
 	}
 
 	public ProductDTO(Long id, String name, String description, Double price, String imgUrl) {
+		this(id, name, description, price, imgUrl, null);
+	}
+
+	public ProductDTO(Long id, String name, String description, Double price, String imgUrl, Integer stock) {
 		this.id = id;
 		this.name = name;
 		this.description = description;
 		this.price = price;
 		this.imgUrl = imgUrl;
+		this.stock = stock;
 	}
 
 	public ProductDTO(Product entity) {
@@ -47,6 +55,7 @@ public class ProductDTO {
 		description = entity.getDescription();
 		price = entity.getPrice();
 		imgUrl = entity.getImgUrl();
+		stock = entity.getStock();
 		for (Category cat : entity.getCategories()) {
 			categories.add(new CategoryDTO(cat));
 		}
@@ -73,6 +82,10 @@ public class ProductDTO {
 		return imgUrl;
 	}
 
+	public Integer getStock() {
+		return stock;
+	}
+
 	public List<CategoryDTO> getCategories() {
 		return categories;
 	}
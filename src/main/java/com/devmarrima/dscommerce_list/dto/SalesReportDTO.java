@@ -0,0 +1,26 @@
+package com.devmarrima.dscommerce_list.dto;
+
+public class SalesReportDTO {
+    private Long id;
+    private Long units;
+    private Double revenue;
+
+    public SalesReportDTO(Long id, Long units, Double revenue) {
+        this.id = id;
+        this.units = units;
+        this.revenue = revenue;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUnits() {
+        return units;
+    }
+
+    public Double getRevenue() {
+        return revenue;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SliceDTO<T> {
+    private List<T> content = new ArrayList<>();
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;
+
+    public SliceDTO(List<T> content, int number, int size, boolean hasNext, Long approximateTotal) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.devmarrima.dscommerce_list.dto;
+
+import java.time.Instant;
+
+import com.devmarrima.dscommerce_list.projections.VersionProjection;
+
+/**
+ * Representação junto com a versão e a data de alteração da mesma leitura da
+ * entidade, para que ETag e Last-Modified descrevam exatamente o corpo enviado.
+ */
+public class VersionedDTO<T> implements VersionProjection {
+    private T body;
+    private Long version;
+    private Instant updatedAt;
+
+    public VersionedDTO(T body, Long version, Instant updatedAt) {
+        this.body = body;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+}
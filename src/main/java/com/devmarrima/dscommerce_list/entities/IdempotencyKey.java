@@ -0,0 +1,92 @@
+package com.devmarrima.dscommerce_list.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Sempre gravada com {@code INSERT} ({@link #isNew()}), para que uma chave
+ * repetida viole a chave primária em vez de sobrescrever a anterior.
+ */
+@Entity
+@Table(name = "tb_idempotency_key")
+public class IdempotencyKey implements Persistable<String> {
+
+	@Id
+	private String id;
+
+	private Long orderId;
+
+	private String requestHash;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	@Transient
+	private boolean isNew = true;
+
+	public IdempotencyKey() {
+	}
+
+	public IdempotencyKey(String id, Long orderId, String requestHash, Instant createdAt) {
+		this.id = id;
+		this.orderId = orderId;
+		this.requestHash = requestHash;
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public String getRequestHash() {
+		return requestHash;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		isNew = false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		IdempotencyKey other = (IdempotencyKey) obj;
+		return Objects.equals(id, other.id);
+	}
+
+}
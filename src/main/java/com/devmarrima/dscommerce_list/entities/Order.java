@@ -12,25 +12,44 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "tb_order")
+@Table(name = "tb_order", indexes = {
+		@Index(name = "idx_order_client_id", columnList = "client_id, id"),
+		@Index(name = "idx_order_total", columnList = "total") })
 public class Order {
 	
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+	@SequenceGenerator(name = "order_seq", sequenceName = "tb_order_seq", initialValue = 1000, allocationSize = 50)
 	private long id;
 	
 	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
 	private Instant moment;
 	
 	private OrderStatus status;
+
+	@Version
+	@Column(columnDefinition = "BIGINT DEFAULT 0")
+	private Long version;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
 	
+	private Double total;
+
+	private Integer itemCount;
+
 	@ManyToOne
 	@JoinColumn(name = "client_id")
 	private User client;
@@ -38,7 +57,7 @@ public class Order {
 	@OneToOne(mappedBy = "order",cascade = CascadeType.ALL)
 	private Payment payment;
 	
-	@OneToMany(mappedBy = "id.order")
+	@OneToMany(mappedBy = "id.order", cascade = CascadeType.PERSIST)
 	private Set<OrderItem> items = new HashSet<>();
 
 	public Order() {
@@ -92,6 +111,43 @@ public class Order {
 		this.payment = payment;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void touch() {
+		updatedAt = Instant.now();
+	}
+
+	public Double getTotal() {
+		return total;
+	}
+
+	public Integer getItemCount() {
+		return itemCount;
+	}
+
+	/**
+	 * Recalcula o total e a quantidade de unidades a partir dos itens. Deve ser
+	 * chamado sempre que a lista de itens mudar.
+	 */
+	public void updateTotals() {
+		double sum = 0.0;
+		int count = 0;
+		for (OrderItem item : items) {
+			sum += item.getPrice() * item.getQuantity();
+			count += item.getQuantity();
+		}
+		total = sum;
+		itemCount = count;
+	}
+
 	public Set<OrderItem> getItems() {
 		return items;
 	}
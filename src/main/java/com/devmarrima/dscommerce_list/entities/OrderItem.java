@@ -1,9 +1,15 @@
 package com.devmarrima.dscommerce_list.entities;
 
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 
 @Entity
@@ -15,6 +21,18 @@ public class OrderItem {
 	
 	private Integer quantity;
 	private Double price;
+
+	/**
+	 * Categorias do produto no momento da venda. Os rollups por categoria são
+	 * somados e, no cancelamento, subtraídos destas categorias, mesmo que o
+	 * produto tenha mudado de categoria depois.
+	 */
+	@ElementCollection
+	@CollectionTable(name = "tb_order_item_category", joinColumns = {
+			@JoinColumn(name = "order_id", referencedColumnName = "order_id"),
+			@JoinColumn(name = "product_id", referencedColumnName = "product_id") })
+	@Column(name = "category_id")
+	private Set<Long> categoryIds = new HashSet<>();
 	
 	public OrderItem() {
 		
@@ -59,6 +77,10 @@ public class OrderItem {
 		this.price = price;
 	}
 
+	public Set<Long> getCategoryIds() {
+		return categoryIds;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
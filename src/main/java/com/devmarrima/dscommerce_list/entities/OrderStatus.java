@@ -3,4 +3,13 @@ package com.devmarrima.dscommerce_list.entities;
 public enum OrderStatus {
 	WAITNG_PAYMENT, PAID, SHIPPED, DELIVERED, CANCELED;
 
+	public boolean canTransitionTo(OrderStatus target) {
+		return switch (this) {
+		case WAITNG_PAYMENT -> target == PAID || target == CANCELED;
+		case PAID -> target == SHIPPED || target == CANCELED;
+		case SHIPPED -> target == DELIVERED;
+		case DELIVERED, CANCELED -> false;
+		};
+	}
+
 }
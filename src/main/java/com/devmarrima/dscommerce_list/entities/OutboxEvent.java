@@ -0,0 +1,80 @@
+package com.devmarrima.dscommerce_list.entities;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_outbox")
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+	@SequenceGenerator(name = "outbox_seq", sequenceName = "tb_outbox_seq", allocationSize = 50)
+	private Long id;
+
+	private String type;
+
+	private Long aggregateId;
+
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant createdAt;
+
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(String type, Long aggregateId, String payload, Instant createdAt) {
+		this.type = type;
+		this.aggregateId = aggregateId;
+		this.payload = payload;
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OutboxEvent other = (OutboxEvent) obj;
+		return Objects.equals(id, other.id);
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.devmarrima.dscommerce_list.entities;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -14,14 +15,19 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "tb_product")
 public class Product {
 	
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+	@SequenceGenerator(name = "product_seq", sequenceName = "tb_product_seq", initialValue = 1000, allocationSize = 50)
 	private Long id;
 	private String name;
 	
@@ -29,6 +35,15 @@ public class Product {
 	private String description;
 	private Double price;
 	private String imgUrl;
+
+	private Integer stock;
+
+	@Version
+	@Column(columnDefinition = "BIGINT DEFAULT 0")
+	private Long version;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant updatedAt;
 	
 	@ManyToMany
 	@JoinTable(name = "tb_product_category",
@@ -90,7 +105,29 @@ public class Product {
 	public void setImgUrl(String imgUrl) {
 		this.imgUrl = imgUrl;
 	}
+
+	public Integer getStock() {
+		return stock;
+	}
+
+	public void setStock(Integer stock) {
+		this.stock = stock;
+	}
 	
+	public Long getVersion() {
+		return version;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void touch() {
+		updatedAt = Instant.now();
+	}
+
 	public Set<Category> getCategories() {
 		return categories;
 	}
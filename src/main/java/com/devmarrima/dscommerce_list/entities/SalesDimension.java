@@ -0,0 +1,6 @@
+package com.devmarrima.dscommerce_list.entities;
+
+public enum SalesDimension {
+	PRODUCT, CATEGORY;
+
+}
@@ -0,0 +1,58 @@
+package com.devmarrima.dscommerce_list.entities;
+
+import java.util.Objects;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_sales_rollup")
+public class SalesRollup {
+
+	@EmbeddedId
+	private SalesRollupPK id = new SalesRollupPK();
+
+	private Long units;
+
+	private Double revenue;
+
+	public SalesRollup() {
+	}
+
+	public SalesRollup(SalesRollupPK id, Long units, Double revenue) {
+		this.id = id;
+		this.units = units;
+		this.revenue = revenue;
+	}
+
+	public SalesRollupPK getId() {
+		return id;
+	}
+
+	public Long getUnits() {
+		return units;
+	}
+
+	public Double getRevenue() {
+		return revenue;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SalesRollup other = (SalesRollup) obj;
+		return Objects.equals(id, other.id);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.devmarrima.dscommerce_list.entities;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class SalesRollupPK {
+
+	private SalesDimension dimension;
+
+	private Long dimensionId;
+
+	@Column(name = "sales_day")
+	private LocalDate day;
+
+	public SalesRollupPK() {
+		
+	}
+
+	public SalesRollupPK(SalesDimension dimension, Long dimensionId, LocalDate day) {
+		this.dimension = dimension;
+		this.dimensionId = dimensionId;
+		this.day = day;
+	}
+
+	public SalesDimension getDimension() {
+		return dimension;
+	}
+
+	public Long getDimensionId() {
+		return dimensionId;
+	}
+
+	public LocalDate getDay() {
+		return day;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(dimension, dimensionId, day);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SalesRollupPK other = (SalesRollupPK) obj;
+		return dimension == other.dimension && Objects.equals(dimensionId, other.dimensionId)
+				&& Objects.equals(day, other.day);
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.devmarrima.dscommerce_list.projections;
+
+import java.time.Instant;
+
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+
+public interface OrderExportProjection {
+    Long getId();
+
+    Instant getMoment();
+
+    OrderStatus getStatus();
+
+    Long getClientId();
+
+    Long getProductId();
+
+    Integer getQuantity();
+
+    Double getPrice();
+
+}
@@ -0,0 +1,10 @@
+package com.devmarrima.dscommerce_list.projections;
+
+public interface OrderItemCategoryProjection {
+    Long getOrderId();
+
+    Long getProductId();
+
+    Long getCategoryId();
+
+}
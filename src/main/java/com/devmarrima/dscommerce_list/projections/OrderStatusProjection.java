@@ -0,0 +1,9 @@
+package com.devmarrima.dscommerce_list.projections;
+
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+
+public interface OrderStatusProjection {
+    Long getId();
+    OrderStatus getStatus();
+
+}
@@ -0,0 +1,18 @@
+package com.devmarrima.dscommerce_list.projections;
+
+public interface ProductExportProjection {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Double getPrice();
+
+    String getImgUrl();
+
+    Integer getStock();
+
+    Long getCategoryId();
+
+}
@@ -0,0 +1,10 @@
+package com.devmarrima.dscommerce_list.projections;
+
+public interface ProductFacetProjection {
+    Long getId();
+
+    Double getPrice();
+
+    Long getCategoryId();
+
+}
@@ -0,0 +1,8 @@
+package com.devmarrima.dscommerce_list.projections;
+
+public interface ProductNameProjection {
+    Long getId();
+
+    String getName();
+
+}
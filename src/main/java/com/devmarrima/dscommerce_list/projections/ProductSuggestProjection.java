@@ -0,0 +1,10 @@
+package com.devmarrima.dscommerce_list.projections;
+
+public interface ProductSuggestProjection {
+    Long getId();
+
+    String getName();
+
+    Long getWeight();
+
+}
@@ -0,0 +1,18 @@
+package com.devmarrima.dscommerce_list.projections;
+
+import java.time.Instant;
+
+public interface VersionProjection {
+    Long getVersion();
+
+    Instant getUpdatedAt();
+
+    default String etag() {
+        return "\"" + getVersion() + "\"";
+    }
+
+    default long lastModified() {
+        return (getUpdatedAt() == null) ? -1 : getUpdatedAt().toEpochMilli();
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.devmarrima.dscommerce_list.repositories;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.devmarrima.dscommerce_list.entities.IdempotencyKey;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey obj WHERE obj.createdAt < :limit")
+    int deleteCreatedBefore(Instant limit);
+
+}
@@ -1,11 +1,77 @@
 package com.devmarrima.dscommerce_list.repositories;
 
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.devmarrima.dscommerce_list.entities.Order;
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+import com.devmarrima.dscommerce_list.projections.OrderExportProjection;
+import com.devmarrima.dscommerce_list.projections.OrderItemCategoryProjection;
+import com.devmarrima.dscommerce_list.projections.OrderStatusProjection;
+
+import jakarta.persistence.QueryHint;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    @Override
+    @Query("SELECT obj FROM Order obj " +
+    " JOIN FETCH obj.client " +
+    " LEFT JOIN FETCH obj.payment " +
+    " LEFT JOIN FETCH obj.items item " +
+    " LEFT JOIN FETCH item.id.product " +
+    " WHERE obj.id = :id ")
+    Optional<Order> findById(Long id);
+
+    @Query("SELECT obj.id FROM Order obj " +
+    " WHERE (:clientId IS NULL OR obj.client.id = :clientId) " +
+    " AND (:status IS NULL OR obj.status = :status) " +
+    " AND obj.id < :beforeId " +
+    " ORDER BY obj.id DESC ")
+    List<Long> searchIdsBefore(Long clientId, OrderStatus status, Long beforeId, Pageable pageable);
+
+    @Query("SELECT DISTINCT obj FROM Order obj " +
+    " JOIN FETCH obj.client " +
+    " LEFT JOIN FETCH obj.payment " +
+    " LEFT JOIN FETCH obj.items item " +
+    " LEFT JOIN FETCH item.id.product " +
+    " WHERE obj.id IN :ids ")
+    List<Order> searchByIds(List<Long> ids);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT obj.id AS id, obj.moment AS moment, obj.status AS status, obj.client.id AS clientId, " +
+    " item.id.product.id AS productId, item.quantity AS quantity, item.price AS price " +
+    " FROM Order obj LEFT JOIN obj.items item " +
+    " ORDER BY obj.id ")
+    Stream<OrderExportProjection> streamAllForExport();
+
+    @Query("SELECT obj.id AS id, obj.status AS status FROM Order obj WHERE obj.id IN :ids ")
+    List<OrderStatusProjection> searchStatusByIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Order obj SET obj.status = :status, obj.version = obj.version + 1, obj.updatedAt = :now " +
+    " WHERE obj.id IN :ids AND obj.status IN :from ")
+    int updateStatus(Collection<Long> ids, OrderStatus status, Collection<OrderStatus> from, Instant now);
+
+    @Query("SELECT obj.id AS id, obj.moment AS moment, obj.status AS status, obj.client.id AS clientId, " +
+    " item.id.product.id AS productId, item.quantity AS quantity, item.price AS price " +
+    " FROM Order obj JOIN obj.items item " +
+    " WHERE obj.id IN :ids ")
+    List<OrderExportProjection> searchItemsByIds(Collection<Long> ids);
+
+    @Query("SELECT item.id.order.id AS orderId, item.id.product.id AS productId, categoryId AS categoryId " +
+    " FROM OrderItem item JOIN item.categoryIds categoryId " +
+    " WHERE item.id.order.id IN :ids ")
+    List<OrderItemCategoryProjection> searchItemCategoriesByIds(Collection<Long> ids);
 
 }
@@ -0,0 +1,27 @@
+package com.devmarrima.dscommerce_list.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT obj FROM OutboxEvent obj ORDER BY obj.id ")
+    List<OutboxEvent> searchOldest(Pageable pageable);
+
+    @Query("SELECT MIN(obj.createdAt) FROM OutboxEvent obj ")
+    Instant searchOldestCreatedAt();
+
+}
@@ -0,0 +1,9 @@
+package com.devmarrima.dscommerce_list.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.devmarrima.dscommerce_list.entities.Payment;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+}
@@ -1,17 +1,104 @@
 package com.devmarrima.dscommerce_list.repositories;
 
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
 import com.devmarrima.dscommerce_list.entities.Product;
+import com.devmarrima.dscommerce_list.projections.ProductExportProjection;
+import com.devmarrima.dscommerce_list.projections.ProductFacetProjection;
+import com.devmarrima.dscommerce_list.projections.ProductNameProjection;
+import com.devmarrima.dscommerce_list.projections.ProductSuggestProjection;
+
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    @Query("SELECT obj FROM Product obj " +
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findById(Long id);
+
+    @Query(value = "SELECT new com.devmarrima.dscommerce_list.dto.ProductMinDTO(" +
+    " obj.id, obj.name, SUBSTRING(obj.description, 1, :descriptionLength), obj.price, obj.imgUrl) " +
+    " FROM Product obj " +
+    " WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%')) ",
+    countQuery = "SELECT COUNT(obj) FROM Product obj " +
     " WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%')) ")
-    Page<Product> searchByName(String name, Pageable pageable);
+    Page<ProductMinDTO> searchByName(String name, int descriptionLength, Pageable pageable);
+
+    @Query("SELECT new com.devmarrima.dscommerce_list.dto.ProductMinDTO(" +
+    " obj.id, obj.name, SUBSTRING(obj.description, 1, :descriptionLength), obj.price, obj.imgUrl) " +
+    " FROM Product obj " +
+    " WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%')) ")
+    Slice<ProductMinDTO> searchSliceByName(String name, int descriptionLength, Pageable pageable);
+
+    @Query("SELECT new com.devmarrima.dscommerce_list.dto.ProductMinDTO(" +
+    " obj.id, obj.name, SUBSTRING(obj.description, 1, :descriptionLength), obj.price, obj.imgUrl) " +
+    " FROM Product obj " +
+    " WHERE obj.id IN :ids ")
+    List<ProductMinDTO> searchByIds(List<Long> ids, int descriptionLength);
+
+    @Query("SELECT new com.devmarrima.dscommerce_list.dto.ProductMinDTO(" +
+    " obj.id, obj.name, SUBSTRING(obj.description, 1, :descriptionLength), obj.price, obj.imgUrl) " +
+    " FROM Product obj " +
+    " WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%')) " +
+    " AND obj.id > :lastId " +
+    " ORDER BY obj.id ")
+    List<ProductMinDTO> searchByNameAfterId(String name, Long lastId, int descriptionLength, Pageable pageable);
+
+    @Query("SELECT new com.devmarrima.dscommerce_list.dto.ProductMinDTO(" +
+    " obj.id, obj.name, SUBSTRING(obj.description, 1, :descriptionLength), obj.price, obj.imgUrl) " +
+    " FROM Product obj " +
+    " WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%')) " +
+    " AND (obj.name > :lastName OR (obj.name = :lastName AND obj.id > :lastId)) " +
+    " ORDER BY obj.name, obj.id ")
+    List<ProductMinDTO> searchByNameAfterName(String name, String lastName, Long lastId, int descriptionLength,
+            Pageable pageable);
+
+    @Query("SELECT obj.id AS id, obj.name AS name FROM Product obj")
+    List<ProductNameProjection> searchAllNames();
+
+    @Query("SELECT obj.id AS id, obj.price AS price, cat.id AS categoryId " +
+    " FROM Product obj LEFT JOIN obj.categories cat ")
+    List<ProductFacetProjection> searchAllFacets();
+
+    @Query("SELECT obj.id AS id, obj.name AS name, " +
+    " COALESCE(SUM(CASE WHEN ord.status = com.devmarrima.dscommerce_list.entities.OrderStatus.CANCELED " +
+    " THEN 0 ELSE item.quantity END), 0) AS weight " +
+    " FROM Product obj LEFT JOIN obj.items item LEFT JOIN item.id.order ord " +
+    " GROUP BY obj.id, obj.name ")
+    List<ProductSuggestProjection> searchAllSuggestions();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price, " +
+    " obj.imgUrl AS imgUrl, obj.stock AS stock, cat.id AS categoryId " +
+    " FROM Product obj LEFT JOIN obj.categories cat " +
+    " ORDER BY obj.id ")
+    Stream<ProductExportProjection> streamAllForExport();
+
+    @Modifying
+    @Query("UPDATE Product obj SET obj.stock = obj.stock - :quantity, obj.version = obj.version + 1, " +
+    " obj.updatedAt = :now " +
+    " WHERE obj.id = :id AND obj.stock >= :quantity ")
+    int reserveStock(Long id, int quantity, Instant now);
+
+    @Modifying
+    @Query("UPDATE Product obj SET obj.stock = obj.stock + :quantity, obj.version = obj.version + 1, " +
+    " obj.updatedAt = :now " +
+    " WHERE obj.id = :id AND obj.stock IS NOT NULL ")
+    int releaseStock(Long id, int quantity, Instant now);
 
 }
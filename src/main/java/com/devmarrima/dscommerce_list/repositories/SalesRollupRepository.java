@@ -0,0 +1,29 @@
+package com.devmarrima.dscommerce_list.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.devmarrima.dscommerce_list.dto.SalesReportDTO;
+import com.devmarrima.dscommerce_list.entities.SalesDimension;
+import com.devmarrima.dscommerce_list.entities.SalesRollup;
+import com.devmarrima.dscommerce_list.entities.SalesRollupPK;
+
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupPK> {
+
+    @Modifying
+    @Query("UPDATE SalesRollup obj SET obj.units = obj.units + :units, obj.revenue = obj.revenue + :revenue " +
+    " WHERE obj.id.dimension = :dimension AND obj.id.dimensionId = :dimensionId AND obj.id.day = :day ")
+    int increment(SalesDimension dimension, Long dimensionId, LocalDate day, long units, double revenue);
+
+    @Query("SELECT new com.devmarrima.dscommerce_list.dto.SalesReportDTO(obj.id.dimensionId, SUM(obj.units), SUM(obj.revenue)) " +
+    " FROM SalesRollup obj " +
+    " WHERE obj.id.dimension = :dimension AND obj.id.day BETWEEN :from AND :to " +
+    " GROUP BY obj.id.dimensionId " +
+    " ORDER BY SUM(obj.revenue) DESC ")
+    List<SalesReportDTO> report(SalesDimension dimension, LocalDate from, LocalDate to);
+
+}
@@ -1,14 +1,18 @@
 package com.devmarrima.dscommerce_list.services;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.devmarrima.dscommerce_list.dto.CategoryDTO;
-import com.devmarrima.dscommerce_list.entities.Category;
 import com.devmarrima.dscommerce_list.repositories.CategoryRepository;
+import com.devmarrima.dscommerce_list.services.cache.CategoryListSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class CategoryService {
@@ -16,10 +20,39 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository repository;
 
-	@Transactional(readOnly = true)
-	public List<CategoryDTO> findAll() {
-		List<Category> result = repository.findAll();
-		return result.stream().map(x -> new CategoryDTO(x)).toList();
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private volatile CategoryListSnapshot snapshot;
+
+	public CategoryListSnapshot findAllSnapshot() {
+		CategoryListSnapshot current = snapshot;
+		if (current == null) {
+			synchronized (this) {
+				current = snapshot;
+				if (current == null) {
+					current = buildSnapshot();
+					snapshot = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	public synchronized void invalidateSnapshot() {
+		snapshot = null;
+	}
+
+	private CategoryListSnapshot buildSnapshot() {
+		List<CategoryDTO> result = repository.findAll().stream().map(x -> new CategoryDTO(x)).toList();
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(result);
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+			String etag = "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+			return new CategoryListSnapshot(json, etag);
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 }
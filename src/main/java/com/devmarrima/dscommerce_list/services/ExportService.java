@@ -0,0 +1,160 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.projections.OrderExportProjection;
+import com.devmarrima.dscommerce_list.projections.ProductExportProjection;
+import com.devmarrima.dscommerce_list.repositories.OrderRepository;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+import com.devmarrima.dscommerce_list.services.exceptions.InvalidFormatException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Exportação completa de produtos e pedidos. As consultas devolvem linhas
+ * escalares ordenadas pelo id (uma por categoria/item), agrupadas aqui em um
+ * registro por produto/pedido, então nada entra no contexto de persistência.
+ */
+@Service
+public class ExportService {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * @return {@code true} para {@code csv}, {@code false} para {@code ndjson}
+	 */
+	public static boolean isCsv(String format) {
+		return switch (format) {
+		case "csv" -> true;
+		case "ndjson" -> false;
+		default -> throw new InvalidFormatException("Formato inválido: " + format);
+		};
+	}
+
+	@Transactional(readOnly = true)
+	public void exportProducts(OutputStream output, boolean csv) throws IOException {
+		List<String> columns = List.of("id", "name", "description", "price", "imgUrl", "stock", "categories");
+		try (Stream<ProductExportProjection> rows = productRepository.streamAllForExport()) {
+			export(rows.iterator(), ProductExportProjection::getId, x -> {
+				Map<String, Object> record = new LinkedHashMap<>();
+				record.put("id", x.getId());
+				record.put("name", x.getName());
+				record.put("description", x.getDescription());
+				record.put("price", x.getPrice());
+				record.put("imgUrl", x.getImgUrl());
+				record.put("stock", x.getStock());
+				record.put("categories", new ArrayList<>());
+				return record;
+			}, (record, x) -> addNonNull(record, "categories", x.getCategoryId()), columns, output, csv);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public void exportOrders(OutputStream output, boolean csv) throws IOException {
+		List<String> columns = List.of("id", "moment", "status", "clientId", "items");
+		try (Stream<OrderExportProjection> rows = orderRepository.streamAllForExport()) {
+			export(rows.iterator(), OrderExportProjection::getId, x -> {
+				Map<String, Object> record = new LinkedHashMap<>();
+				record.put("id", x.getId());
+				record.put("moment", x.getMoment());
+				record.put("status", x.getStatus());
+				record.put("clientId", x.getClientId());
+				record.put("items", new ArrayList<>());
+				return record;
+			}, (record, x) -> {
+				if (x.getProductId() != null) {
+					Map<String, Object> item = new LinkedHashMap<>();
+					item.put("productId", x.getProductId());
+					item.put("quantity", x.getQuantity());
+					item.put("price", x.getPrice());
+					addNonNull(record, "items", item);
+				}
+			}, columns, output, csv);
+		}
+	}
+
+	private <T> void export(Iterator<T> rows, Function<T, Long> id, Function<T, Map<String, Object>> header,
+			BiConsumer<Map<String, Object>, T> detail, List<String> columns, OutputStream output, boolean csv)
+			throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		if (csv) {
+			writer.write(String.join(",", columns));
+			writer.write('\n');
+		}
+		Map<String, Object> record = null;
+		Long currentId = null;
+		while (rows.hasNext()) {
+			T row = rows.next();
+			if (record == null || !Objects.equals(currentId, id.apply(row))) {
+				if (record != null) {
+					write(writer, record, csv);
+				}
+				record = header.apply(row);
+				currentId = id.apply(row);
+			}
+			detail.accept(record, row);
+		}
+		if (record != null) {
+			write(writer, record, csv);
+		}
+		writer.flush();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void addNonNull(Map<String, Object> record, String key, Object value) {
+		if (value != null) {
+			((List<Object>) record.get(key)).add(value);
+		}
+	}
+
+	private void write(Writer writer, Map<String, Object> record, boolean csv) throws IOException {
+		if (!csv) {
+			writer.write(objectMapper.writeValueAsString(record));
+		} else {
+			writer.write(record.values().stream().map(ExportService::csvValue).collect(Collectors.joining(",")));
+		}
+		writer.write('\n');
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String csvValue(Object value) {
+		if (value == null) {
+			return "";
+		}
+		if (value instanceof List<?> list) {
+			return csvValue(list.stream().map(x -> (x instanceof Map<?, ?> map)
+					? ((Map<String, Object>) map).values().stream().map(String::valueOf).collect(Collectors.joining(":"))
+					: String.valueOf(x)).collect(Collectors.joining(";")));
+		}
+		String text = value.toString();
+		if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+			return "\"" + text.replace("\"", "\"\"") + "\"";
+		}
+		return text;
+	}
+}
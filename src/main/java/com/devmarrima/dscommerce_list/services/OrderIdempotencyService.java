@@ -0,0 +1,124 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.entities.IdempotencyKey;
+import com.devmarrima.dscommerce_list.repositories.IdempotencyKeyRepository;
+import com.devmarrima.dscommerce_list.services.cache.IdempotencyStore;
+import com.devmarrima.dscommerce_list.services.exceptions.UnprocessableEntityException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@code POST /orders} com {@code Idempotency-Key}. A chave vale por usuário;
+ * repetições na mesma instância são resolvidas pelo {@link IdempotencyStore}.
+ * Com {@code orders.idempotency.table-enabled} a chave também é gravada junto
+ * com o pedido, o que cobre repetições que caem em outra instância. A chave
+ * fica associada ao hash do corpo; reusá-la com outro corpo responde 422. A
+ * gravação passa pelo {@link OrderIngestionService}, então pedidos com chave
+ * também entram no commit em grupo.
+ */
+@Service
+public class OrderIdempotencyService {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderIngestionService ingestionService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private IdempotencyStore store;
+
+	@Autowired
+	private IdempotencyKeyRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${orders.idempotency.table-enabled}")
+	private boolean tableEnabled;
+
+	@Value("${orders.idempotency.ttl-seconds}")
+	private long ttlSeconds;
+
+	public OrderDTO insert(String key, OrderDTO dto) {
+		String scopedKey = hash(userService.authenticatedUsername() + "\n" + key);
+		String requestHash = requestHash(dto);
+		return store.execute(scopedKey, requestHash, () -> {
+			if (!tableEnabled) {
+				return await(ingestionService.submit(dto));
+			}
+			Optional<IdempotencyKey> stored = repository.findById(scopedKey);
+			if (stored.isPresent()) {
+				return replay(stored.get(), requestHash);
+			}
+			try {
+				return await(ingestionService.submit(dto, scopedKey, requestHash));
+			} catch (DataIntegrityViolationException e) {
+				return repository.findById(scopedKey).map(x -> replay(x, requestHash)).orElseThrow(() -> e);
+			}
+		});
+	}
+
+	private static OrderDTO await(CompletableFuture<OrderDTO> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private OrderDTO replay(IdempotencyKey stored, String requestHash) {
+		if (!requestHash.equals(stored.getRequestHash())) {
+			throw new UnprocessableEntityException(IdempotencyStore.KEY_REUSED);
+		}
+		return orderService.findById(stored.getOrderId()).getBody();
+	}
+
+	private String requestHash(OrderDTO dto) {
+		try {
+			return hash(objectMapper.writeValueAsString(dto));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-millis}")
+	@Transactional
+	public void purgeExpired() {
+		if (tableEnabled) {
+			repository.deleteCreatedBefore(Instant.now().minusSeconds(ttlSeconds));
+		}
+	}
+
+	private static String hash(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.entities.User;
+import com.devmarrima.dscommerce_list.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Modo opcional de {@code POST /orders} com commit em grupo: os pedidos entram
+ * em uma fila limitada e uma única thread os grava em lotes de até
+ * {@code batch-size} pedidos ou {@code max-delay-millis}, o que vier primeiro.
+ * Se o lote falhar, cada pedido é regravado sozinho para que só o inválido
+ * receba o erro. Pedidos com {@code Idempotency-Key} passam pela mesma fila e
+ * a chave é gravada no lote junto com o pedido.
+ */
+@Service
+public class OrderIngestionService {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Value("${orders.ingestion.group-commit.enabled}")
+	private boolean enabled;
+
+	@Value("${orders.ingestion.group-commit.batch-size}")
+	private int batchSize;
+
+	@Value("${orders.ingestion.group-commit.max-delay-millis}")
+	private long maxDelayMillis;
+
+	@Value("${orders.ingestion.group-commit.queue-capacity}")
+	private int queueCapacity;
+
+	private BlockingQueue<Submission> queue;
+	private DistributionSummary batchSizes;
+	private Timer commitTimer;
+	private Thread writer;
+	private volatile boolean running;
+
+	@PostConstruct
+	void start() {
+		if (!enabled) {
+			return;
+		}
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		Gauge.builder("orders.ingestion.queue.depth", queue, BlockingQueue::size).register(registry);
+		batchSizes = DistributionSummary.builder("orders.ingestion.batch.size").register(registry);
+		commitTimer = Timer.builder("orders.ingestion.commit").register(registry);
+		running = true;
+		writer = new Thread(this::drain, "order-group-commit");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		if (writer != null) {
+			running = false;
+			writer.join(TimeUnit.SECONDS.toMillis(10));
+		}
+	}
+
+	public CompletableFuture<OrderDTO> submit(OrderDTO dto) {
+		return submit(dto, null, null);
+	}
+
+	public CompletableFuture<OrderDTO> submit(OrderDTO dto, String idempotencyKey, String requestHash) {
+		if (!enabled) {
+			return CompletableFuture.completedFuture(orderService.insert(dto, idempotencyKey, requestHash));
+		}
+		Submission submission = new Submission(dto, userService.authenticated(), idempotencyKey, requestHash,
+				new CompletableFuture<>());
+		if (!running || !queue.offer(submission)) {
+			throw new ServiceUnavailableException("Fila de pedidos cheia, tente novamente");
+		}
+		return submission.future;
+	}
+
+	private void drain() {
+		List<Submission> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				Submission first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+				while (batch.size() < batchSize) {
+					long remaining = deadline - System.nanoTime();
+					Submission next = (remaining > 0) ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				running = false;
+			}
+			commit(batch);
+			batch.clear();
+		}
+	}
+
+	private void commit(List<Submission> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		batchSizes.record(batch.size());
+		try {
+			List<OrderDTO> result = commitTimer.record(() -> orderService.insertAll(
+					batch.stream().map(Submission::dto).toList(), batch.stream().map(Submission::client).toList(),
+					batch.stream().map(Submission::idempotencyKey).toList(),
+					batch.stream().map(Submission::requestHash).toList()));
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).future.complete(result.get(i));
+			}
+		} catch (RuntimeException e) {
+			if (batch.size() == 1) {
+				batch.get(0).future.completeExceptionally(e);
+				return;
+			}
+			for (Submission submission : batch) {
+				try {
+					submission.future.complete(orderService.insertAll(List.of(submission.dto),
+							List.of(submission.client), Collections.singletonList(submission.idempotencyKey),
+							Collections.singletonList(submission.requestHash)).get(0));
+				} catch (RuntimeException rowError) {
+					submission.future.completeExceptionally(rowError);
+				}
+			}
+		}
+	}
+
+	private record Submission(OrderDTO dto, User client, String idempotencyKey, String requestHash,
+			CompletableFuture<OrderDTO> future) {
+	}
+}
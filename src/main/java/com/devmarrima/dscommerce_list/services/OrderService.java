@@ -1,22 +1,54 @@
 package com.devmarrima.dscommerce_list.services;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.devmarrima.dscommerce_list.dto.CursorPageDTO;
 import com.devmarrima.dscommerce_list.dto.OrderDTO;
 import com.devmarrima.dscommerce_list.dto.OrderItemDTO;
+import com.devmarrima.dscommerce_list.dto.OrderStatusResultDTO;
+import com.devmarrima.dscommerce_list.dto.VersionedDTO;
+import com.devmarrima.dscommerce_list.entities.IdempotencyKey;
 import com.devmarrima.dscommerce_list.entities.Order;
 import com.devmarrima.dscommerce_list.entities.OrderItem;
 import com.devmarrima.dscommerce_list.entities.OrderStatus;
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
 import com.devmarrima.dscommerce_list.entities.Product;
 import com.devmarrima.dscommerce_list.entities.User;
-import com.devmarrima.dscommerce_list.repositories.OrderItemRepository;
+import com.devmarrima.dscommerce_list.projections.OrderExportProjection;
+import com.devmarrima.dscommerce_list.projections.OrderItemCategoryProjection;
+import com.devmarrima.dscommerce_list.projections.OrderStatusProjection;
+import com.devmarrima.dscommerce_list.repositories.IdempotencyKeyRepository;
 import com.devmarrima.dscommerce_list.repositories.OrderRepository;
 import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+import com.devmarrima.dscommerce_list.services.cache.ProductDetailCache;
+import com.devmarrima.dscommerce_list.services.cache.StockCounters;
+import com.devmarrima.dscommerce_list.services.exceptions.ConflictException;
+import com.devmarrima.dscommerce_list.services.exceptions.InvalidCursorException;
 import com.devmarrima.dscommerce_list.services.exceptions.ResourceNotFoundException;
+import com.devmarrima.dscommerce_list.services.index.ProductSuggestIndex;
+import com.devmarrima.dscommerce_list.services.index.SalesRollupBuffer;
+import com.devmarrima.dscommerce_list.services.outbox.OutboxService;
 
 @Service
 public class OrderService {
@@ -31,37 +63,329 @@ public class OrderService {
 	private ProductRepository productRepository;
 
 	@Autowired
-	private OrderItemRepository orderItemRepository;
+	private AuthService authService;
 
 	@Autowired
-	private AuthService authService;
+	private ProductSuggestIndex suggestIndex;
+
+	@Autowired
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Autowired
+	private StockCounters stockCounters;
+
+	@Autowired
+	private ProductDetailCache detailCache;
+
+	@Autowired
+	private SalesRollupBuffer salesBuffer;
+
+	@Autowired
+	private OutboxService outboxService;
 
 	@Transactional(readOnly = true)
-	public OrderDTO findById(Long id) {
+	public VersionedDTO<OrderDTO> findById(Long id) {
 		Order order = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
 		authService.validateSelfOrAdmin(order.getClient().getId());		
-		return new OrderDTO(order);
+		return new VersionedDTO<>(new OrderDTO(order), order.getVersion(), order.getUpdatedAt());
+	}
+
+	/**
+	 * Pedidos do mais recente para o mais antigo. Clientes só veem os próprios
+	 * pedidos; {@code clientId} é considerado apenas para administradores. A
+	 * primeira consulta pagina apenas ids e a segunda carrega os pedidos da
+	 * página com itens, produtos e pagamento; pedidos removidos entre as duas
+	 * consultas ficam de fora da página.
+	 */
+	@Transactional(readOnly = true)
+	public CursorPageDTO<OrderDTO> findAllAfter(Long clientId, OrderStatus status, String after, int size) {
+		User user = userService.authenticated();
+		if (!user.hasRole("ROLE_ADMIN")) {
+			clientId = user.getId();
+		}
+		Long beforeId = Long.MAX_VALUE;
+		if (!after.isEmpty()) {
+			beforeId = decodeCursor(after);
+		}
+		List<Long> ids = repository.searchIdsBefore(clientId, status, beforeId, PageRequest.of(0, size + 1));
+		String next = null;
+		if (ids.size() > size) {
+			ids = ids.subList(0, size);
+			next = encodeCursor(ids.get(size - 1));
+		}
+		if (ids.isEmpty()) {
+			return new CursorPageDTO<>(List.of(), null);
+		}
+		Map<Long, Order> orders = repository.searchByIds(ids).stream()
+				.collect(Collectors.toMap(Order::getId, Function.identity()));
+		List<OrderDTO> result = ids.stream().map(orders::get).filter(Objects::nonNull).map(x -> new OrderDTO(x))
+				.toList();
+		return new CursorPageDTO<>(result, next);
 	}
 
 	@Transactional
 	public OrderDTO insert(OrderDTO dto) {
+		return insert(dto, null, null);
+	}
+
+	/**
+	 * @param idempotencyKey quando informada, é gravada na mesma transação do
+	 *                       pedido; a chave primária impede um segundo pedido
+	 *                       com a mesma chave mesmo entre instâncias
+	 * @param requestHash    hash do corpo da requisição, gravado com a chave
+	 */
+	@Transactional
+	public OrderDTO insert(OrderDTO dto, String idempotencyKey, String requestHash) {
+		Map<Long, Product> products = loadProducts(List.of(dto));
+		Order order = newOrder(dto, userService.authenticated(), products);
+		repository.save(order);
+		reserveStock(List.of(dto), products);
+		if (idempotencyKey != null) {
+			idempotencyKeyRepository.save(new IdempotencyKey(idempotencyKey, order.getId(), requestHash, order.getMoment()));
+		}
+		afterOrdersCommitted(List.of(order));
+		OrderDTO result = new OrderDTO(order);
+		outboxService.saveAll(List.of(outboxService.event(OutboxService.ORDER_CREATED, order.getId(), result)));
+		return result;
+	}
+
+	@Transactional
+	public List<OrderDTO> insertAll(List<OrderDTO> dtos, List<User> clients) {
+		List<String> none = Collections.nCopies(dtos.size(), null);
+		return insertAll(dtos, clients, none, none);
+	}
+
+	/**
+	 * Grava vários pedidos, de clientes possivelmente diferentes, em uma única
+	 * transação e com uma única consulta de produtos. Qualquer pedido inválido
+	 * desfaz o lote inteiro.
+	 *
+	 * @param idempotencyKeys por pedido, {@code null} quando não há chave; as
+	 *                        chaves são gravadas na mesma transação, como em
+	 *                        {@link #insert(OrderDTO, String, String)}
+	 */
+	@Transactional
+	public List<OrderDTO> insertAll(List<OrderDTO> dtos, List<User> clients, List<String> idempotencyKeys,
+			List<String> requestHashes) {
+		Map<Long, Product> products = loadProducts(dtos);
+		List<Order> orders = new ArrayList<>(dtos.size());
+		for (int i = 0; i < dtos.size(); i++) {
+			orders.add(newOrder(dtos.get(i), clients.get(i), products));
+		}
+		repository.saveAll(orders);
+		reserveStock(dtos, products);
+		List<IdempotencyKey> keys = new ArrayList<>();
+		for (int i = 0; i < orders.size(); i++) {
+			if (idempotencyKeys.get(i) != null) {
+				keys.add(new IdempotencyKey(idempotencyKeys.get(i), orders.get(i).getId(), requestHashes.get(i),
+						orders.get(i).getMoment()));
+			}
+		}
+		idempotencyKeyRepository.saveAll(keys);
+		afterOrdersCommitted(orders);
+		List<OrderDTO> result = orders.stream().map(x -> new OrderDTO(x)).toList();
+		outboxService.saveAll(result.stream()
+				.map(x -> outboxService.event(OutboxService.ORDER_CREATED, x.getId(), x)).toList());
+		return result;
+	}
+
+	/**
+	 * Aplica {@code target} a um bloco de pedidos com um único {@code UPDATE},
+	 * restrito aos pedidos cujo status atual permite a transição. Pedidos que
+	 * mudaram entre a leitura e o {@code UPDATE} são informados como conflito.
+	 */
+	@Transactional
+	public List<OrderStatusResultDTO> updateStatus(List<Long> ids, OrderStatus target) {
+		Map<Long, OrderStatus> current = repository.searchStatusByIds(ids).stream()
+				.collect(Collectors.toMap(OrderStatusProjection::getId, OrderStatusProjection::getStatus));
+		Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+		for (OrderStatus status : OrderStatus.values()) {
+			if (status.canTransitionTo(target)) {
+				sources.add(status);
+			}
+		}
+		List<Long> eligible = new ArrayList<>();
+		for (Long id : ids) {
+			OrderStatus status = current.get(id);
+			if (status != null && sources.contains(status)) {
+				eligible.add(id);
+			}
+		}
+		Set<Long> conflicts = new HashSet<>();
+		if (!eligible.isEmpty()) {
+			int updated = repository.updateStatus(eligible, target, sources, Instant.now());
+			if (updated < eligible.size()) {
+				for (OrderStatusProjection p : repository.searchStatusByIds(eligible)) {
+					if (p.getStatus() != target) {
+						conflicts.add(p.getId());
+					}
+				}
+			}
+		}
+		List<OrderStatusResultDTO> result = new ArrayList<>(ids.size());
+		List<Long> updatedIds = new ArrayList<>();
+		for (Long id : ids) {
+			OrderStatus status = current.get(id);
+			String outcome;
+			if (status == null) {
+				outcome = OrderStatusResultDTO.NOT_FOUND;
+			} else if (!sources.contains(status)) {
+				outcome = OrderStatusResultDTO.INVALID_TRANSITION;
+			} else if (conflicts.contains(id)) {
+				outcome = OrderStatusResultDTO.CONFLICT;
+			} else {
+				outcome = OrderStatusResultDTO.UPDATED;
+				updatedIds.add(id);
+			}
+			result.add(new OrderStatusResultDTO(id, status, outcome));
+		}
+		List<OutboxEvent> events = new ArrayList<>(updatedIds.size());
+		for (Long id : updatedIds) {
+			Map<String, Object> payload = new LinkedHashMap<>();
+			payload.put("id", id);
+			payload.put("previous", current.get(id));
+			payload.put("status", target);
+			events.add(outboxService.event(OutboxService.ORDER_STATUS_CHANGED, id, payload));
+		}
+		outboxService.saveAll(events);
+		if (target == OrderStatus.CANCELED && !updatedIds.isEmpty()) {
+			List<OrderExportProjection> items = repository.searchItemsByIds(updatedIds);
+			Map<List<Long>, List<Long>> categories = new HashMap<>();
+			for (OrderItemCategoryProjection c : repository.searchItemCategoriesByIds(updatedIds)) {
+				categories.computeIfAbsent(List.of(c.getOrderId(), c.getProductId()), x -> new ArrayList<>())
+						.add(c.getCategoryId());
+			}
+			releaseStock(items);
+			TransactionCallbacks.afterCommit(() -> {
+				for (OrderExportProjection item : items) {
+					suggestIndex.addWeight(item.getProductId(), -item.getQuantity());
+					salesBuffer.add(item.getMoment(), item.getProductId(),
+							categories.getOrDefault(List.of(item.getId(), item.getProductId()), List.of()),
+							-item.getQuantity(), item.getPrice());
+				}
+			});
+		}
+		return result;
+	}
+
+	private Map<Long, Product> loadProducts(List<OrderDTO> dtos) {
+		Set<Long> productIds = dtos.stream().flatMap(x -> x.getItems().stream()).map(OrderItemDTO::getProductId)
+				.collect(Collectors.toSet());
+		Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+		if (products.size() < productIds.size()) {
+			productIds.removeAll(products.keySet());
+			throw new ResourceNotFoundException("Produto não encontrado: " + productIds);
+		}
+		return products;
+	}
+
+	private Order newOrder(OrderDTO dto, User client, Map<Long, Product> products) {
 		Order order = new Order();
 
 		order.setMoment(Instant.now());
 		order.setStatus(OrderStatus.WAITNG_PAYMENT);
-
-		User user = userService.authenticated();
-		order.setClient(user);
+		order.setClient(client);
 
 		for(OrderItemDTO itemDto : dto.getItems()){
-			Product product = productRepository.getReferenceById(itemDto.getProductId());
+			Product product = products.get(itemDto.getProductId());
 			OrderItem orderItem = new OrderItem(order, product, itemDto.getQuantity(), product.getPrice());
+			orderItem.getCategoryIds().addAll(salesBuffer.categoriesOf(product.getId()));
 			 order.getItems().add(orderItem);
 		}
-		repository.save(order);
-		orderItemRepository.saveAll(order.getItems());
-		return new OrderDTO(order);
+		order.updateTotals();
+		return order;
+	}
+
+	/**
+	 * Debita o estoque dos produtos controlados com {@code UPDATE ... WHERE
+	 * stock >= ?}, em ordem de id para que transações concorrentes travem as
+	 * linhas na mesma ordem. Fica no fim da transação para segurar as travas o
+	 * menor tempo possível.
+	 */
+	private void reserveStock(List<OrderDTO> dtos, Map<Long, Product> products) {
+		Map<Long, Integer> quantities = new TreeMap<>();
+		for (OrderDTO dto : dtos) {
+			for (OrderItemDTO item : dto.getItems()) {
+				quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+			}
+		}
+		List<Long> reserved = new ArrayList<>();
+		for (Map.Entry<Long, Integer> e : quantities.entrySet()) {
+			Long productId = e.getKey();
+			int quantity = e.getValue();
+			Integer stock = products.get(productId).getStock();
+			if (stock == null) {
+				continue;
+			}
+			if (stockCounters.isEnabled()) {
+				AtomicInteger counter = stockCounters.tryReserve(productId, quantity, stock);
+				if (counter == null) {
+					throw new ConflictException("Estoque insuficiente: " + productId);
+				}
+				TransactionCallbacks.afterRollback(() -> counter.addAndGet(quantity));
+			}
+			if (productRepository.reserveStock(productId, quantity, Instant.now()) == 0) {
+				throw new ConflictException("Estoque insuficiente: " + productId);
+			}
+			reserved.add(productId);
+		}
+		if (!reserved.isEmpty()) {
+			TransactionCallbacks.afterCommit(() -> reserved.forEach(detailCache::evict));
+		}
+	}
+
+	/**
+	 * Devolve ao estoque os itens de pedidos cancelados, na mesma transação da
+	 * troca de status. Produtos sem controle de estoque ficam como estão.
+	 */
+	private void releaseStock(List<OrderExportProjection> items) {
+		Map<Long, Integer> quantities = new TreeMap<>();
+		for (OrderExportProjection item : items) {
+			if (item.getQuantity() != null) {
+				quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+			}
+		}
+		List<Long> released = new ArrayList<>();
+		for (Map.Entry<Long, Integer> e : quantities.entrySet()) {
+			if (productRepository.releaseStock(e.getKey(), e.getValue(), Instant.now()) > 0) {
+				released.add(e.getKey());
+			}
+		}
+		if (!released.isEmpty()) {
+			TransactionCallbacks.afterCommit(() -> {
+				for (Long productId : released) {
+					stockCounters.reset(productId);
+					detailCache.evict(productId);
+				}
+			});
+		}
+	}
+
+	private void afterOrdersCommitted(List<Order> orders) {
+		List<OrderItem> items = orders.stream().flatMap(x -> x.getItems().stream()).toList();
+		TransactionCallbacks.afterCommit(() -> {
+			for (OrderItem item : items) {
+				if (item.getQuantity() != null) {
+					suggestIndex.addWeight(item.getProduct().getId(), item.getQuantity());
+					salesBuffer.add(item.getOrder().getMoment(), item.getProduct().getId(), item.getCategoryIds(),
+							item.getQuantity(), item.getPrice());
+				}
+			}
+		});
+	}
+
+	private static String encodeCursor(Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Long decodeCursor(String after) {
+		try {
+			return Long.valueOf(new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Cursor inválido");
+		}
 	}
 
 }
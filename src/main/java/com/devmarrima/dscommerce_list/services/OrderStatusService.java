@@ -0,0 +1,37 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devmarrima.dscommerce_list.dto.OrderStatusResultDTO;
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+
+/**
+ * Mudança de status em massa. Os ids são divididos em blocos de
+ * {@code orders.status.chunk-size}, cada um em sua própria transação, para que
+ * uma onda grande não segure as travas de todos os pedidos até o fim.
+ */
+@Service
+public class OrderStatusService {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Value("${orders.status.chunk-size}")
+	private int chunkSize;
+
+	public List<OrderStatusResultDTO> updateStatus(List<Long> ids, OrderStatus target) {
+		List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+		List<OrderStatusResultDTO> result = new ArrayList<>(distinct.size());
+		for (int i = 0; i < distinct.size(); i += chunkSize) {
+			List<Long> chunk = distinct.subList(i, Math.min(i + chunkSize, distinct.size()));
+			result.addAll(orderService.updateStatus(chunk, target));
+		}
+		return result;
+	}
+}
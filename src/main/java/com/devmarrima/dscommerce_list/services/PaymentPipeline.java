@@ -0,0 +1,215 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.devmarrima.dscommerce_list.dto.PaymentConfirmationDTO;
+import com.devmarrima.dscommerce_list.services.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Recebe confirmações de pagamento e as grava em segundo plano. Cada
+ * confirmação entra em uma fila limitada; confirmações repetidas de um pedido
+ * que ainda está na fila são descartadas. Threads virtuais drenam a fila em
+ * lotes de até {@code batch-size} confirmações ou {@code max-delay-millis}.
+ * Uma confirmação que não pôde ser gravada volta para uma fila de novas
+ * tentativas, com espera dobrando a partir de {@code retry-delay-millis}, até
+ * {@code max-attempts} tentativas; só então é descartada, com log de erro.
+ */
+@Service
+public class PaymentPipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaymentPipeline.class);
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Value("${payments.pipeline.workers}")
+	private int workers;
+
+	@Value("${payments.pipeline.batch-size}")
+	private int batchSize;
+
+	@Value("${payments.pipeline.max-delay-millis}")
+	private long maxDelayMillis;
+
+	@Value("${payments.pipeline.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${payments.pipeline.max-attempts}")
+	private int maxAttempts;
+
+	@Value("${payments.pipeline.retry-delay-millis}")
+	private long retryDelayMillis;
+
+	private BlockingQueue<Pending> queue;
+	private final DelayQueue<Pending> retries = new DelayQueue<>();
+	private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+	private final List<Thread> threads = new ArrayList<>();
+	private volatile boolean running;
+	private Counter received;
+	private Counter duplicates;
+	private Counter recorded;
+	private Counter retried;
+	private Counter failed;
+	private Timer lag;
+
+	@PostConstruct
+	void start() {
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		Gauge.builder("payments.pipeline.queue.depth", queue, BlockingQueue::size).register(registry);
+		received = Counter.builder("payments.pipeline.received").register(registry);
+		duplicates = Counter.builder("payments.pipeline.duplicates").register(registry);
+		recorded = Counter.builder("payments.pipeline.recorded").register(registry);
+		retried = Counter.builder("payments.pipeline.retried").register(registry);
+		failed = Counter.builder("payments.pipeline.failed").register(registry);
+		Gauge.builder("payments.pipeline.retry.depth", retries, DelayQueue::size).register(registry);
+		lag = Timer.builder("payments.pipeline.lag").register(registry);
+		running = true;
+		for (int i = 0; i < workers; i++) {
+			threads.add(Thread.ofVirtual().name("payment-writer-" + i).start(this::drain));
+		}
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		for (Thread thread : threads) {
+			thread.join(TimeUnit.SECONDS.toMillis(10));
+		}
+		for (Pending item : retries) {
+			logger.error("Pagamento do pedido {} não gravado: aplicação encerrada antes da tentativa {}",
+					item.dto.getOrderId(), item.attempt);
+		}
+	}
+
+	/**
+	 * @return {@code false} se já havia uma confirmação do mesmo pedido na fila
+	 */
+	public boolean submit(PaymentConfirmationDTO dto) {
+		received.increment();
+		if (!pending.add(dto.getOrderId())) {
+			duplicates.increment();
+			return false;
+		}
+		Instant moment = (dto.getMoment() == null) ? Instant.now() : dto.getMoment();
+		long now = System.nanoTime();
+		if (!running || !queue.offer(new Pending(new PaymentConfirmationDTO(dto.getOrderId(), moment), now, 1, now))) {
+			pending.remove(dto.getOrderId());
+			throw new ServiceUnavailableException("Fila de pagamentos cheia, tente novamente");
+		}
+		return true;
+	}
+
+	private void drain() {
+		List<Pending> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				retries.drainTo(batch, batchSize);
+				if (batch.isEmpty()) {
+					Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+					if (first == null) {
+						continue;
+					}
+					batch.add(first);
+				}
+				queue.drainTo(batch, batchSize - batch.size());
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+				while (batch.size() < batchSize) {
+					long remaining = deadline - System.nanoTime();
+					Pending next = (remaining > 0) ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				running = false;
+			}
+			record(batch);
+			batch.clear();
+		}
+	}
+
+	private void record(List<Pending> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		List<Pending> done = batch;
+		try {
+			recorded.increment(paymentService.recordAll(batch.stream().map(Pending::dto).toList()));
+		} catch (RuntimeException e) {
+			done = new ArrayList<>(batch.size());
+			for (Pending item : batch) {
+				try {
+					recorded.increment(paymentService.recordAll(List.of(item.dto)));
+					done.add(item);
+				} catch (RuntimeException rowError) {
+					if (retry(item, rowError)) {
+						continue;
+					}
+					done.add(item);
+				}
+			}
+		}
+		long now = System.nanoTime();
+		for (Pending item : done) {
+			pending.remove(item.dto.getOrderId());
+			lag.record(now - item.enqueuedAt, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * @return {@code false} se a confirmação esgotou as tentativas e foi
+	 *         descartada
+	 */
+	private boolean retry(Pending item, RuntimeException e) {
+		if (item.attempt >= maxAttempts) {
+			failed.increment();
+			logger.error("Pagamento do pedido {} descartado após {} tentativas", item.dto.getOrderId(), item.attempt, e);
+			return false;
+		}
+		long delay = TimeUnit.MILLISECONDS.toNanos(retryDelayMillis << (item.attempt - 1));
+		retried.increment();
+		logger.warn("Falha ao gravar o pagamento do pedido {} (tentativa {} de {}), nova tentativa em {} ms",
+				item.dto.getOrderId(), item.attempt, maxAttempts, TimeUnit.NANOSECONDS.toMillis(delay), e);
+		retries.add(new Pending(item.dto, item.enqueuedAt, item.attempt + 1, System.nanoTime() + delay));
+		return true;
+	}
+
+	private record Pending(PaymentConfirmationDTO dto, long enqueuedAt, int attempt, long dueAt) implements Delayed {
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(dueAt, ((Pending) other).dueAt);
+		}
+	}
+}
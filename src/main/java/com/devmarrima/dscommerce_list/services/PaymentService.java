@@ -0,0 +1,53 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.dto.OrderStatusResultDTO;
+import com.devmarrima.dscommerce_list.dto.PaymentConfirmationDTO;
+import com.devmarrima.dscommerce_list.entities.OrderStatus;
+import com.devmarrima.dscommerce_list.entities.Payment;
+import com.devmarrima.dscommerce_list.repositories.OrderRepository;
+import com.devmarrima.dscommerce_list.repositories.PaymentRepository;
+
+@Service
+public class PaymentService {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private PaymentRepository repository;
+
+	/**
+	 * Marca como pagos, com um único {@code UPDATE}, os pedidos ainda aguardando
+	 * pagamento e grava um {@link Payment} para cada um deles. Confirmações de
+	 * pedidos em qualquer outro status são ignoradas.
+	 *
+	 * @return quantos pagamentos foram gravados
+	 */
+	@Transactional
+	public int recordAll(List<PaymentConfirmationDTO> confirmations) {
+		Map<Long, PaymentConfirmationDTO> byOrder = confirmations.stream()
+				.collect(Collectors.toMap(PaymentConfirmationDTO::getOrderId, Function.identity(), (x, y) -> x));
+		List<Payment> payments = new ArrayList<>();
+		for (OrderStatusResultDTO result : orderService.updateStatus(new ArrayList<>(byOrder.keySet()), OrderStatus.PAID)) {
+			if (result.getResult().equals(OrderStatusResultDTO.UPDATED)) {
+				PaymentConfirmationDTO dto = byOrder.get(result.getId());
+				payments.add(new Payment(null, dto.getMoment(), orderRepository.getReferenceById(result.getId())));
+			}
+		}
+		repository.saveAll(payments);
+		return payments.size();
+	}
+}
@@ -0,0 +1,191 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.devmarrima.dscommerce_list.dto.CategoryDTO;
+import com.devmarrima.dscommerce_list.dto.ImportReportDTO;
+import com.devmarrima.dscommerce_list.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ProductImportService {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${products.import.batch-size}")
+	private int batchSize;
+
+	public ImportReportDTO importProducts(InputStream input, boolean csv) throws IOException {
+		ImportReportDTO report = new ImportReportDTO();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		List<ProductDTO> batch = new ArrayList<>(batchSize);
+		List<Long> lines = new ArrayList<>(batchSize);
+		List<String> header = null;
+		long lineNumber = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			long recordLine = lineNumber;
+			while (csv && !quotesClosed(line)) {
+				String next = reader.readLine();
+				if (next == null) {
+					break;
+				}
+				lineNumber++;
+				line = line + "\n" + next;
+			}
+			if (csv && header == null) {
+				header = parseCsvLine(line);
+				continue;
+			}
+			ProductDTO dto;
+			try {
+				dto = csv ? fromCsv(header, line) : objectMapper.readValue(line, ProductDTO.class);
+			} catch (JsonProcessingException | IllegalArgumentException e) {
+				report.addError(recordLine, "Linha mal formada");
+				continue;
+			}
+			Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+			if (!violations.isEmpty()) {
+				report.addError(recordLine, violations.stream()
+						.map(x -> x.getPropertyPath() + ":" + x.getMessage()).sorted().collect(Collectors.joining("; ")));
+				continue;
+			}
+			batch.add(dto);
+			lines.add(recordLine);
+			if (batch.size() >= batchSize) {
+				flush(batch, lines, report);
+			}
+		}
+		flush(batch, lines, report);
+		return report;
+	}
+
+	private void flush(List<ProductDTO> batch, List<Long> lines, ImportReportDTO report) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			productService.insertAll(batch);
+			report.addImported(batch.size());
+		} catch (DataAccessException e) {
+			for (int i = 0; i < batch.size(); i++) {
+				try {
+					productService.insertAll(List.of(batch.get(i)));
+					report.addImported(1);
+				} catch (DataAccessException rowError) {
+					report.addError(lines.get(i), "Violação de restrição de integridade referencial!");
+				}
+			}
+		}
+		batch.clear();
+		lines.clear();
+	}
+
+	private ProductDTO fromCsv(List<String> header, String line) {
+		List<String> values = parseCsvLine(line);
+		if (values.size() != header.size()) {
+			throw new IllegalArgumentException("Número de colunas inválido");
+		}
+		String name = null;
+		String description = null;
+		Double price = null;
+		String imgUrl = null;
+		Integer stock = null;
+		List<CategoryDTO> categories = new ArrayList<>();
+		for (int i = 0; i < header.size(); i++) {
+			String value = values.get(i).isEmpty() ? null : values.get(i);
+			switch (header.get(i)) {
+			case "name" -> name = value;
+			case "description" -> description = value;
+			case "price" -> price = (value == null) ? null : Double.valueOf(value);
+			case "imgUrl" -> imgUrl = value;
+			case "stock" -> stock = (value == null) ? null : Integer.valueOf(value);
+			case "categories" -> {
+				if (value != null) {
+					for (String catId : value.split(";")) {
+						categories.add(new CategoryDTO(Long.valueOf(catId.trim()), null));
+					}
+				}
+			}
+			default -> {
+			}
+			}
+		}
+		ProductDTO dto = new ProductDTO(null, name, description, price, imgUrl, stock);
+		dto.getCategories().addAll(categories);
+		return dto;
+	}
+
+	/**
+	 * Um campo entre aspas pode conter quebras de linha; o registro só termina
+	 * quando o número de aspas for par (aspas escapadas vêm em pares).
+	 */
+	private static boolean quotesClosed(String text) {
+		int quotes = 0;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '"') {
+				quotes++;
+			}
+		}
+		return quotes % 2 == 0;
+	}
+
+	private static List<String> parseCsvLine(String line) {
+		List<String> result = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				result.add(field.toString().trim());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Aspas não fechadas");
+		}
+		result.add(field.toString().trim());
+		return result;
+	}
+}
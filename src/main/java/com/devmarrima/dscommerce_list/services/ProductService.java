@@ -1,21 +1,53 @@
 package com.devmarrima.dscommerce_list.services;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.devmarrima.dscommerce_list.dto.CategoryDTO;
+import com.devmarrima.dscommerce_list.dto.CursorPageDTO;
+import com.devmarrima.dscommerce_list.dto.FacetCountDTO;
+import com.devmarrima.dscommerce_list.dto.FacetedPageDTO;
+import com.devmarrima.dscommerce_list.dto.PriceBucketDTO;
 import com.devmarrima.dscommerce_list.dto.ProductDTO;
 import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
+import com.devmarrima.dscommerce_list.dto.ProductSuggestionDTO;
+import com.devmarrima.dscommerce_list.dto.SliceDTO;
+import com.devmarrima.dscommerce_list.dto.VersionedDTO;
 import com.devmarrima.dscommerce_list.entities.Category;
 import com.devmarrima.dscommerce_list.entities.Product;
 import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+import com.devmarrima.dscommerce_list.services.cache.ProductDetailCache;
+import com.devmarrima.dscommerce_list.services.cache.StockCounters;
 import com.devmarrima.dscommerce_list.services.exceptions.DataBaseException;
+import com.devmarrima.dscommerce_list.services.exceptions.InvalidCursorException;
+import com.devmarrima.dscommerce_list.services.exceptions.PreconditionFailedException;
+import com.devmarrima.dscommerce_list.services.exceptions.PreconditionRequiredException;
 import com.devmarrima.dscommerce_list.services.exceptions.ResourceNotFoundException;
+import com.devmarrima.dscommerce_list.services.index.ProductCounter;
+import com.devmarrima.dscommerce_list.services.index.ProductFacetIndex;
+import com.devmarrima.dscommerce_list.services.index.ProductFacetIndex.FacetResult;
+import com.devmarrima.dscommerce_list.services.index.ProductNameIndex;
+import com.devmarrima.dscommerce_list.services.index.ProductSuggestIndex;
+import com.devmarrima.dscommerce_list.services.index.SalesRollupBuffer;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -25,17 +57,126 @@ public class ProductService {
 	@Autowired
 	private ProductRepository repository;
 
-	@Transactional(readOnly = true)
-	public ProductDTO findById(Long id) {
+	@Autowired
+	private ProductNameIndex nameIndex;
+
+	@Autowired
+	private ProductFacetIndex facetIndex;
+
+	@Autowired
+	private ProductSuggestIndex suggestIndex;
+
+	@Autowired
+	private ProductCounter counter;
+
+	@Autowired
+	private ProductDetailCache detailCache;
+
+	@Autowired
+	private StockCounters stockCounters;
+
+	@Autowired
+	private SalesRollupBuffer salesBuffer;
+
+	@Value("${products.list.description-length}")
+	private int descriptionLength;
+
+	@Value("${products.fuzzy.max-distance}")
+	private int fuzzyMaxDistance;
+
+	@Value("${products.fuzzy.budget-millis}")
+	private long fuzzyBudgetMillis;
+
+	/**
+	 * Não é {@code readOnly}: com réplica de leitura, uma falta no cache lê do
+	 * primário, então o cache nunca guarda uma versão anterior à última escrita.
+	 */
+	@Transactional
+	public VersionedDTO<ProductDTO> findById(Long id) {
+		VersionedDTO<ProductDTO> cached = detailCache.get(id);
+		if (cached != null) {
+			return cached;
+		}
+		long stamp = detailCache.stamp();
 		Product product = repository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException("Recurso não encontrado"));
-		return new ProductDTO(product);
+		VersionedDTO<ProductDTO> dto = new VersionedDTO<>(new ProductDTO(product), product.getVersion(),
+				product.getUpdatedAt());
+		detailCache.put(id, dto, stamp);
+		return dto;
 	}
 
 	@Transactional(readOnly = true)
 	public Page<ProductMinDTO> findAll(String name, Pageable pageable) {
-		Page<Product> result = repository.searchByName(name, pageable);
-		return result.map(x -> new ProductMinDTO(x));
+		if (pageable.isUnpaged() || !nameIndex.supports(name, pageable.getSort())) {
+			return repository.searchByName(name, listDescriptionLength(), pageable);
+		}
+		List<Long> ids = nameIndex.search(name, pageable.getSort());
+		return new PageImpl<>(loadPage(ids, pageable), pageable, ids.size());
+	}
+
+	@Transactional(readOnly = true)
+	public SliceDTO<ProductMinDTO> findAllSlice(String name, Pageable pageable) {
+		Slice<ProductMinDTO> result = repository.searchSliceByName(name, listDescriptionLength(), pageable);
+		Long approximateTotal = name.isEmpty() ? counter.get() : null;
+		return new SliceDTO<>(result.getContent(), result.getNumber(), result.getSize(), result.hasNext(),
+				approximateTotal);
+	}
+
+	@Transactional(readOnly = true)
+	public FacetedPageDTO findAllFaceted(String name, List<Long> categoryIds, Double minPrice, Double maxPrice,
+			Pageable pageable) {
+		List<Long> candidates = name.isBlank() ? null : nameIndex.search(name, Sort.unsorted());
+		FacetResult result = facetIndex.search(candidates, categoryIds, minPrice, maxPrice, pageable.getSort(),
+				nameIndex::nameOf);
+
+		FacetedPageDTO dto = new FacetedPageDTO(loadPage(result.ids(), pageable), result.ids().size(),
+				pageable.getPageNumber(), pageable.getPageSize());
+		result.categoryCounts().forEach((id, count) -> dto.getCategories().add(new FacetCountDTO(id, count)));
+		result.priceBuckets().forEach(
+				(from, count) -> dto.getPrices().add(new PriceBucketDTO(from, from + result.bucketSize(), count)));
+		return dto;
+	}
+
+	@Transactional(readOnly = true)
+	public List<ProductMinDTO> findAllFuzzy(String name, Integer maxDistance, int limit) {
+		int distance = (maxDistance == null) ? fuzzyMaxDistance : Math.max(0, Math.min(maxDistance, fuzzyMaxDistance));
+		long deadline = System.nanoTime() + fuzzyBudgetMillis * 1_000_000L;
+		List<Long> ids = nameIndex.fuzzySearch(name, distance, limit, deadline);
+		return loadPage(ids, PageRequest.of(0, limit));
+	}
+
+	public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+		return suggestIndex.suggest(prefix, limit);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageDTO<ProductMinDTO> findAllAfter(String name, String sort, String after, int size) {
+		if (!isCursorSort(sort)) {
+			throw new InvalidCursorException("Ordenação inválida: " + sort);
+		}
+		String lastName = "";
+		Long lastId = 0L;
+		if (!after.isEmpty()) {
+			String[] cursor = decodeCursor(after);
+			if (!cursor[0].equals(sort)) {
+				throw new InvalidCursorException("Cursor inválido");
+			}
+			lastId = Long.valueOf(cursor[1]);
+			lastName = cursor[2];
+		}
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<ProductMinDTO> result = sort.equals("name")
+				? repository.searchByNameAfterName(name, lastName, lastId, listDescriptionLength(), limit)
+				: repository.searchByNameAfterId(name, lastId, listDescriptionLength(), limit);
+
+		String next = null;
+		if (result.size() > size) {
+			result = result.subList(0, size);
+			ProductMinDTO last = result.get(size - 1);
+			next = encodeCursor(sort, last.getId(), sort.equals("name") ? last.getName() : "");
+		}
+		return new CursorPageDTO<>(result, next);
 	}
 
 	@Transactional
@@ -43,15 +184,39 @@ public class ProductService {
 		Product entity = new Product();
 		copyDtoToEntity(dto, entity);
 		entity = repository.save(entity);
+		indexAfterCommit(entity);
+		TransactionCallbacks.afterCommit(() -> counter.add(1));
 		return new ProductDTO(entity);
 	}
 
 	@Transactional
-	public ProductDTO update(Long id, ProductDTO dto) {
+	public void insertAll(List<ProductDTO> dtos) {
+		List<Product> entities = new ArrayList<>(dtos.size());
+		for (ProductDTO dto : dtos) {
+			Product entity = new Product();
+			copyDtoToEntity(dto, entity);
+			entities.add(entity);
+		}
+		repository.saveAll(entities);
+		for (Product entity : entities) {
+			indexAfterCommit(entity);
+		}
+		TransactionCallbacks.afterCommit(() -> counter.add(entities.size()));
+	}
+
+	@Transactional
+	public ProductDTO update(Long id, ProductDTO dto, Long expectedVersion) {
 		try {
 			Product entity = repository.getReferenceById(id);
+			if (dto.getStock() != null && expectedVersion == null) {
+				throw new PreconditionRequiredException("If-Match é obrigatório para alterar o estoque");
+			}
+			if (expectedVersion != null && !expectedVersion.equals(entity.getVersion())) {
+				throw new PreconditionFailedException("Versão do recurso não confere");
+			}
 			copyDtoToEntity(dto, entity);
 			entity = repository.save(entity);
+			indexAfterCommit(entity);
 			return new ProductDTO(entity);
 
 		} catch (EntityNotFoundException e) {
@@ -67,16 +232,85 @@ public class ProductService {
 		}
 		try {
 			repository.deleteById(id);
+			TransactionCallbacks.afterCommit(() -> {
+				detailCache.evict(id);
+				stockCounters.reset(id);
+				nameIndex.remove(id);
+				facetIndex.remove(id);
+				salesBuffer.removeCategories(id);
+				suggestIndex.remove(id);
+				counter.add(-1);
+			});
 		} catch (DataIntegrityViolationException e) {
 			throw new DataBaseException("Violação de restrição de integridade referencial!");
 		}
 	}
 
+	private List<ProductMinDTO> loadPage(List<Long> ids, Pageable pageable) {
+		int start = (int) Math.min(pageable.getOffset(), ids.size());
+		int end = Math.min(start + pageable.getPageSize(), ids.size());
+		List<Long> pageIds = ids.subList(start, end);
+
+		Map<Long, ProductMinDTO> products = repository.searchByIds(pageIds, listDescriptionLength()).stream()
+				.collect(Collectors.toMap(ProductMinDTO::getId, Function.identity()));
+		return pageIds.stream().map(products::get).filter(Objects::nonNull).toList();
+	}
+
+	private int listDescriptionLength() {
+		return (descriptionLength > 0) ? descriptionLength : Integer.MAX_VALUE;
+	}
+
+	private String encodeCursor(String sort, Long id, String name) {
+		String value = sort + ":" + id + ":" + name;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Cursor no formato {@code sort:id:nome}. Qualquer outro conteúdo é tratado
+	 * como cursor inválido (400), nunca como erro interno.
+	 */
+	private String[] decodeCursor(String after) {
+		String[] cursor;
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+			cursor = value.split(":", 3);
+			if (cursor.length != 3 || !isCursorSort(cursor[0])) {
+				throw new InvalidCursorException("Cursor inválido");
+			}
+			Long.parseLong(cursor[1]);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Cursor inválido");
+		}
+		return cursor;
+	}
+
+	private static boolean isCursorSort(String sort) {
+		return sort.equals("id") || sort.equals("name");
+	}
+
+	private void indexAfterCommit(Product entity) {
+		Long id = entity.getId();
+		String name = entity.getName();
+		Double price = entity.getPrice();
+		List<Long> categoryIds = entity.getCategories().stream().map(Category::getId).toList();
+		TransactionCallbacks.afterCommit(() -> {
+			detailCache.evict(id);
+			stockCounters.reset(id);
+			nameIndex.put(id, name);
+			facetIndex.put(id, price, categoryIds);
+			salesBuffer.putCategories(id, categoryIds);
+			suggestIndex.put(id, name);
+		});
+	}
+
 	private void copyDtoToEntity(ProductDTO dto, Product entity) {
 		entity.setName(dto.getName());
 		entity.setDescription(dto.getDescription());
 		entity.setPrice(dto.getPrice());
 		entity.setImgUrl(dto.getImgUrl());
+		if (dto.getStock() != null) {
+			entity.setStock(dto.getStock());
+		}
 
 		entity.getCategories().clear();
 		for (CategoryDTO catDTO : dto.getCategories()) {
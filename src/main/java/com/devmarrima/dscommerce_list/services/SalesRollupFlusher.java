@@ -0,0 +1,40 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.services.index.SalesRollupBuffer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava periodicamente as somas acumuladas no {@link SalesRollupBuffer}. Se a
+ * gravação falhar, as somas voltam para o buffer e entram na próxima rodada.
+ */
+@Component
+public class SalesRollupFlusher {
+
+	@Autowired
+	private SalesRollupBuffer buffer;
+
+	@Autowired
+	private SalesRollupService service;
+
+	@Scheduled(fixedDelayString = "${sales.rollup.flush-interval-millis}")
+	@PreDestroy
+	public void flush() {
+		Map<SalesRollupBuffer.Key, SalesRollupBuffer.Delta> deltas = buffer.drain();
+		if (deltas.isEmpty()) {
+			return;
+		}
+		try {
+			service.write(deltas);
+		} catch (RuntimeException e) {
+			buffer.restore(deltas);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.dto.SalesReportDTO;
+import com.devmarrima.dscommerce_list.entities.SalesDimension;
+import com.devmarrima.dscommerce_list.entities.SalesRollup;
+import com.devmarrima.dscommerce_list.entities.SalesRollupPK;
+import com.devmarrima.dscommerce_list.repositories.SalesRollupRepository;
+import com.devmarrima.dscommerce_list.services.index.SalesRollupBuffer;
+
+@Service
+public class SalesRollupService {
+
+	@Autowired
+	private SalesRollupRepository repository;
+
+	@Transactional(readOnly = true)
+	public List<SalesReportDTO> report(SalesDimension dimension, LocalDate from, LocalDate to) {
+		return repository.report(dimension, from, to);
+	}
+
+	@Transactional
+	public void write(Map<SalesRollupBuffer.Key, SalesRollupBuffer.Delta> deltas) {
+		for (Map.Entry<SalesRollupBuffer.Key, SalesRollupBuffer.Delta> e : deltas.entrySet()) {
+			SalesRollupBuffer.Key key = e.getKey();
+			long units = e.getValue().units();
+			double revenue = e.getValue().revenue();
+			if (repository.increment(key.dimension(), key.id(), key.day(), units, revenue) == 0) {
+				repository.save(new SalesRollup(new SalesRollupPK(key.dimension(), key.id(), key.day()), units, revenue));
+			}
+		}
+	}
+}
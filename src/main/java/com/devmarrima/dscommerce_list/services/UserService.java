@@ -41,16 +41,19 @@ public class UserService implements UserDetailsService {
 
     protected User authenticated() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
-            String username = jwtPrincipal.getClaim("username");
-            return userRepository.findByEmail(username).get();
+            return userRepository.findByEmail(authenticatedUsername()).get();
         } catch (Exception e) {
             throw new UsernameNotFoundException("Email not found");
         }
 
     }
 
+    protected String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Jwt jwtPrincipal = (Jwt) authentication.getPrincipal();
+        return jwtPrincipal.getClaim("username");
+    }
+
     @Transactional(readOnly = true)
     public UserDTO findMe() {
         User user = authenticated();
@@ -0,0 +1,4 @@
+package com.devmarrima.dscommerce_list.services.cache;
+
+public record CategoryListSnapshot(byte[] json, String etag) {
+}
@@ -0,0 +1,113 @@
+package com.devmarrima.dscommerce_list.services.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.services.exceptions.ConflictException;
+import com.devmarrima.dscommerce_list.services.exceptions.UnprocessableEntityException;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resultados de requisições idempotentes, por chave. O mapa é dividido em
+ * faixas com trava própria, cada uma limitada e com TTL. Quem chega com uma
+ * chave em andamento espera o mesmo resultado em vez de repetir a operação; se
+ * ela falhar, a chave é liberada para uma nova tentativa. Reusar a chave com
+ * outro corpo é rejeitado.
+ */
+@Component
+public class IdempotencyStore {
+
+	private static final int STRIPES = 16;
+
+	public static final String KEY_REUSED = "Idempotency-Key já usada com outro corpo de requisição";
+
+	@Value("${orders.idempotency.max-keys}")
+	private int maxKeys;
+
+	@Value("${orders.idempotency.ttl-seconds}")
+	private long ttlSeconds;
+
+	@Value("${orders.idempotency.wait-seconds}")
+	private long waitSeconds;
+
+	@SuppressWarnings("unchecked")
+	private final Map<String, Entry>[] stripes = new Map[STRIPES];
+	private int maxPerStripe;
+
+	@PostConstruct
+	void init() {
+		maxPerStripe = Math.max(1, maxKeys / STRIPES);
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new LinkedHashMap<>(16, 0.75f, true);
+		}
+	}
+
+	public OrderDTO execute(String key, String requestHash, Supplier<OrderDTO> action) {
+		Map<String, Entry> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+		CompletableFuture<OrderDTO> future;
+		boolean owner = false;
+		synchronized (stripe) {
+			long now = System.nanoTime();
+			Entry entry = stripe.get(key);
+			if (entry == null || entry.expiresAt - now <= 0) {
+				entry = new Entry(new CompletableFuture<>(), requestHash, now + ttlSeconds * 1_000_000_000L);
+				stripe.put(key, entry);
+				owner = true;
+				Iterator<Entry> it = stripe.values().iterator();
+				while (stripe.size() > maxPerStripe && it.hasNext()) {
+					if (it.next().future.isDone()) {
+						it.remove();
+					}
+				}
+			}
+			if (!entry.requestHash.equals(requestHash)) {
+				throw new UnprocessableEntityException(KEY_REUSED);
+			}
+			future = entry.future;
+		}
+		if (!owner) {
+			return await(future);
+		}
+		try {
+			OrderDTO result = action.get();
+			future.complete(result);
+			return result;
+		} catch (RuntimeException e) {
+			synchronized (stripe) {
+				stripe.remove(key);
+			}
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private OrderDTO await(CompletableFuture<OrderDTO> future) {
+		try {
+			return future.get(waitSeconds, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new ConflictException("Requisição com a mesma chave ainda em andamento");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record Entry(CompletableFuture<OrderDTO> future, String requestHash, long expiresAt) {
+	}
+}
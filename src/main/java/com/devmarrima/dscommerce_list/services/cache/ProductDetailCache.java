@@ -0,0 +1,104 @@
+package com.devmarrima.dscommerce_list.services.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.dto.ProductDTO;
+import com.devmarrima.dscommerce_list.dto.VersionedDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cache LRU com TTL dos detalhes de produto. Uma carga só é gravada se nenhuma
+ * invalidação aconteceu desde que ela começou ({@link #stamp()}), então uma
+ * leitura concorrente com uma escrita nunca repõe o valor antigo.
+ */
+@Component
+public class ProductDetailCache {
+
+	@Value("${products.cache.max-size}")
+	private int maxSize;
+
+	@Value("${products.cache.ttl-seconds}")
+	private long ttlSeconds;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final AtomicLong invalidations = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	@PostConstruct
+	void registerMetrics() {
+		FunctionCounter.builder("products.cache.hits", hits, AtomicLong::get).register(registry);
+		FunctionCounter.builder("products.cache.misses", misses, AtomicLong::get).register(registry);
+		FunctionCounter.builder("products.cache.evictions", evictions, AtomicLong::get).register(registry);
+		Gauge.builder("products.cache.size", this, ProductDetailCache::size).register(registry);
+	}
+
+	public VersionedDTO<ProductDTO> get(Long id) {
+		synchronized (entries) {
+			Entry entry = entries.get(id);
+			if (entry != null && entry.expiresAt > System.nanoTime()) {
+				hits.incrementAndGet();
+				return entry.value;
+			}
+			if (entry != null) {
+				entries.remove(id);
+				evictions.incrementAndGet();
+			}
+		}
+		misses.incrementAndGet();
+		return null;
+	}
+
+	public long stamp() {
+		return invalidations.get();
+	}
+
+	public void put(Long id, VersionedDTO<ProductDTO> value, long stamp) {
+		if (maxSize <= 0) {
+			return;
+		}
+		synchronized (entries) {
+			if (invalidations.get() != stamp) {
+				return;
+			}
+			entries.put(id, new Entry(value, System.nanoTime() + ttlSeconds * 1_000_000_000L));
+			Iterator<Entry> it = entries.values().iterator();
+			while (entries.size() > maxSize && it.hasNext()) {
+				it.next();
+				it.remove();
+				evictions.incrementAndGet();
+			}
+		}
+	}
+
+	public void evict(Long id) {
+		synchronized (entries) {
+			invalidations.incrementAndGet();
+			entries.remove(id);
+		}
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private record Entry(VersionedDTO<ProductDTO> value, long expiresAt) {
+	}
+}
@@ -0,0 +1,48 @@
+package com.devmarrima.dscommerce_list.services.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de estoque em memória, um por produto, usados como filtro antes
+ * do {@code UPDATE} condicional: quando o produto esgota, os pedidos seguintes
+ * são recusados com um CAS em vez de disputar a trava da linha. O banco
+ * continua sendo a referência; um contador só é criado a partir do estoque lido
+ * e é descartado sempre que o produto muda.
+ */
+@Component
+public class StockCounters {
+
+	@Value("${products.stock.local-counters}")
+	private boolean enabled;
+
+	private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return o contador debitado, para devolver a quantidade se a transação
+	 *         falhar, ou {@code null} se não houver estoque suficiente
+	 */
+	public AtomicInteger tryReserve(Long id, int quantity, int stock) {
+		AtomicInteger counter = available.computeIfAbsent(id, x -> new AtomicInteger(stock));
+		int current;
+		do {
+			current = counter.get();
+			if (current < quantity) {
+				return null;
+			}
+		} while (!counter.compareAndSet(current, current - quantity));
+		return counter;
+	}
+
+	public void reset(Long id) {
+		available.remove(id);
+	}
+}
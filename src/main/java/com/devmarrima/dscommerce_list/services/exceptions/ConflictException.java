@@ -0,0 +1,8 @@
+package com.devmarrima.dscommerce_list.services.exceptions;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String msg){
+        super(msg);
+    }
+
+}
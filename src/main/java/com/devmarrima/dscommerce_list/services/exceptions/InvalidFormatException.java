@@ -0,0 +1,8 @@
+package com.devmarrima.dscommerce_list.services.exceptions;
+
+public class InvalidFormatException extends RuntimeException {
+    public InvalidFormatException(String msg){
+        super(msg);
+    }
+
+}
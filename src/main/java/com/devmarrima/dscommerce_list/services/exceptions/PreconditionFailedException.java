@@ -0,0 +1,8 @@
+package com.devmarrima.dscommerce_list.services.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String msg){
+        super(msg);
+    }
+
+}
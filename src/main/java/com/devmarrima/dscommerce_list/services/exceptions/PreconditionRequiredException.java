@@ -0,0 +1,8 @@
+package com.devmarrima.dscommerce_list.services.exceptions;
+
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String msg){
+        super(msg);
+    }
+
+}
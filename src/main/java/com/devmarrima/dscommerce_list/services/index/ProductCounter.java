@@ -0,0 +1,31 @@
+package com.devmarrima.dscommerce_list.services.index;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+@Component
+public class ProductCounter implements SmartInitializingSingleton {
+
+	@Autowired
+	private ProductRepository repository;
+
+	private final AtomicLong count = new AtomicLong();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		count.set(repository.count());
+	}
+
+	public long get() {
+		return count.get();
+	}
+
+	public void add(long delta) {
+		count.addAndGet(delta);
+	}
+}
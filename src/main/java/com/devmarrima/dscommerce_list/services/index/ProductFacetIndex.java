@@ -0,0 +1,211 @@
+package com.devmarrima.dscommerce_list.services.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.projections.ProductFacetProjection;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Índice colunar para facetas: cada produto ocupa uma posição nos arrays de id
+ * e preço, e cada categoria é um {@link BitSet} sobre essas posições.
+ * Posições liberadas por exclusões são reaproveitadas.
+ */
+@Component
+public class ProductFacetIndex implements SmartInitializingSingleton {
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Value("${products.facets.price-bucket-size}")
+	private double bucketSize;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private long[] ids = new long[1024];
+	private double[] prices = new double[1024];
+	private final BitSet live = new BitSet();
+	private final Map<Long, BitSet> categories = new HashMap<>();
+	private final Map<Long, Integer> positions = new HashMap<>();
+	private final Deque<Integer> free = new ArrayDeque<>();
+	private int next;
+
+	@PostConstruct
+	void validate() {
+		if (!(bucketSize > 0)) {
+			throw new IllegalStateException("products.facets.price-bucket-size deve ser maior que zero: " + bucketSize);
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		List<ProductFacetProjection> result = repository.searchAllFacets();
+		lock.writeLock().lock();
+		try {
+			for (ProductFacetProjection p : result) {
+				Integer pos = positions.get(p.getId());
+				if (pos == null) {
+					pos = allocate(p.getId(), p.getPrice());
+				}
+				if (p.getCategoryId() != null) {
+					categories.computeIfAbsent(p.getCategoryId(), x -> new BitSet()).set(pos);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void put(Long id, Double price, Collection<Long> categoryIds) {
+		lock.writeLock().lock();
+		try {
+			remove(id);
+			int pos = allocate(id, price);
+			for (Long catId : categoryIds) {
+				categories.computeIfAbsent(catId, x -> new BitSet()).set(pos);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			Integer pos = positions.remove(id);
+			if (pos == null) {
+				return;
+			}
+			live.clear(pos);
+			for (BitSet bits : categories.values()) {
+				bits.clear(pos);
+			}
+			free.push(pos);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param candidateIds ids que já casaram com o filtro de nome, ou
+	 *                     {@code null} para todos os produtos
+	 * @param names        usado apenas quando a ordenação pede {@code name}
+	 */
+	public FacetResult search(Collection<Long> candidateIds, List<Long> categoryIds, Double minPrice,
+			Double maxPrice, Sort sort, Function<Long, String> names) {
+		lock.readLock().lock();
+		try {
+			BitSet base;
+			if (candidateIds == null) {
+				base = (BitSet) live.clone();
+			} else {
+				base = new BitSet();
+				for (Long id : candidateIds) {
+					Integer pos = positions.get(id);
+					if (pos != null) {
+						base.set(pos);
+					}
+				}
+			}
+			BitSet byCategory = (BitSet) base.clone();
+			if (categoryIds != null && !categoryIds.isEmpty()) {
+				BitSet any = new BitSet();
+				for (Long catId : categoryIds) {
+					BitSet bits = categories.get(catId);
+					if (bits != null) {
+						any.or(bits);
+					}
+				}
+				byCategory.and(any);
+			}
+			BitSet byPrice = (BitSet) base.clone();
+			for (int pos = byPrice.nextSetBit(0); pos >= 0; pos = byPrice.nextSetBit(pos + 1)) {
+				if ((minPrice != null && prices[pos] < minPrice) || (maxPrice != null && prices[pos] > maxPrice)) {
+					byPrice.clear(pos);
+				}
+			}
+			BitSet matches = (BitSet) byCategory.clone();
+			matches.and(byPrice);
+
+			Map<Long, Long> categoryCounts = new TreeMap<>();
+			for (Map.Entry<Long, BitSet> e : categories.entrySet()) {
+				BitSet bits = (BitSet) e.getValue().clone();
+				bits.and(byPrice);
+				if (!bits.isEmpty()) {
+					categoryCounts.put(e.getKey(), (long) bits.cardinality());
+				}
+			}
+			SortedMap<Double, Long> priceBuckets = new TreeMap<>();
+			for (int pos = byCategory.nextSetBit(0); pos >= 0; pos = byCategory.nextSetBit(pos + 1)) {
+				double bucket = Math.floor(prices[pos] / bucketSize) * bucketSize;
+				priceBuckets.merge(bucket, 1L, Long::sum);
+			}
+
+			List<Long> result = new ArrayList<>(matches.cardinality());
+			for (int pos = matches.nextSetBit(0); pos >= 0; pos = matches.nextSetBit(pos + 1)) {
+				result.add(ids[pos]);
+			}
+			result.sort(comparator(sort, names));
+			return new FacetResult(result, categoryCounts, priceBuckets, bucketSize);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Comparator<Long> comparator(Sort sort, Function<Long, String> names) {
+		Comparator<Long> result = null;
+		for (Sort.Order order : sort) {
+			Comparator<Long> next = switch (order.getProperty()) {
+			case "price" -> Comparator.comparingDouble(id -> prices[positions.get(id)]);
+			case "name" -> Comparator.comparing(names, Comparator.nullsLast(Comparator.naturalOrder()));
+			default -> Comparator.naturalOrder();
+			};
+			if (order.isDescending()) {
+				next = next.reversed();
+			}
+			result = (result == null) ? next : result.thenComparing(next);
+		}
+		return (result == null) ? Comparator.naturalOrder() : result.thenComparing(Comparator.naturalOrder());
+	}
+
+	private int allocate(Long id, Double price) {
+		int pos;
+		if (!free.isEmpty()) {
+			pos = free.pop();
+		} else {
+			pos = next++;
+			if (pos == ids.length) {
+				ids = Arrays.copyOf(ids, ids.length * 2);
+				prices = Arrays.copyOf(prices, prices.length * 2);
+			}
+		}
+		ids[pos] = id;
+		prices[pos] = (price == null) ? 0.0 : price;
+		live.set(pos);
+		positions.put(id, pos);
+		return pos;
+	}
+
+	public record FacetResult(List<Long> ids, Map<Long, Long> categoryCounts, SortedMap<Double, Long> priceBuckets,
+			double bucketSize) {
+	}
+}
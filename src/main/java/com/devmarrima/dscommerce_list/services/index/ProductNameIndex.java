@@ -0,0 +1,300 @@
+package com.devmarrima.dscommerce_list.services.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.projections.ProductNameProjection;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+/**
+ * Índice invertido de trigramas sobre o nome dos produtos. Resolve a busca por
+ * substring de {@code GET /products?name=} sem varrer a tabela: os candidatos
+ * saem da menor lista de postings e são confirmados com {@code contains}. Um
+ * segundo índice de bigramas atende os pedaços curtos da busca tolerante a
+ * erros.
+ */
+@Component
+public class ProductNameIndex implements SmartInitializingSingleton {
+
+	private static final int GRAM = 3;
+	private static final int PIECE = 2;
+
+	@Autowired
+	private ProductRepository repository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, String> names = new HashMap<>();
+	private final Map<Long, Set<Long>> postings = new HashMap<>();
+	private final Map<Integer, Set<Long>> bigramPostings = new HashMap<>();
+	private volatile boolean ready;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		List<ProductNameProjection> result = repository.searchAllNames();
+		lock.writeLock().lock();
+		try {
+			names.clear();
+			postings.clear();
+			bigramPostings.clear();
+			for (ProductNameProjection p : result) {
+				add(p.getId(), p.getName());
+			}
+			ready = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public boolean supports(String term, Sort sort) {
+		if (!ready || term == null || term.length() < GRAM || term.indexOf('%') >= 0 || term.indexOf('_') >= 0) {
+			return false;
+		}
+		for (Sort.Order order : sort) {
+			if (!order.getProperty().equals("id") && !order.getProperty().equals("name")) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public List<Long> search(String term, Sort sort) {
+		String key = normalize(term);
+		List<Long> result = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			if (key.length() < GRAM) {
+				for (Map.Entry<Long, String> e : names.entrySet()) {
+					if (e.getValue().contains(key)) {
+						result.add(e.getKey());
+					}
+				}
+				result.sort(comparator(sort));
+				return result;
+			}
+			Set<Long> smallest = null;
+			for (Long gram : trigrams(key)) {
+				Set<Long> posting = postings.get(gram);
+				if (posting == null) {
+					return result;
+				}
+				if (smallest == null || posting.size() < smallest.size()) {
+					smallest = posting;
+				}
+			}
+			for (Long id : smallest) {
+				if (names.get(id).contains(key)) {
+					result.add(id);
+				}
+			}
+			result.sort(comparator(sort));
+		} finally {
+			lock.readLock().unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * Busca tolerante a erros. O termo é dividido em {@code maxDistance + 1}
+	 * pedaços; como cada edição estraga no máximo um pedaço, todo nome a até
+	 * {@code maxDistance} edições contém algum pedaço inteiro, e só esses nomes
+	 * (com comprimento suficiente) passam pela distância de edição. Para que cada
+	 * pedaço tenha ao menos dois caracteres, termos curtos aceitam menos erros:
+	 * no máximo {@code comprimento / 2 - 1}. Candidatos que contêm mais pedaços
+	 * são conferidos primeiro, em ordem de id, e a conferência para quando
+	 * {@code deadline} (em {@link System#nanoTime()}) passa. O resultado é
+	 * ordenado pela menor distância entre o termo e algum trecho do nome.
+	 */
+	public List<Long> fuzzySearch(String term, int maxDistance, int limit, long deadline) {
+		String key = normalize(term);
+		if (key.length() < PIECE) {
+			return List.of();
+		}
+		int distance = Math.max(0, Math.min(maxDistance, key.length() / PIECE - 1));
+		int minLength = key.length() - distance;
+		List<long[]> ranked = new ArrayList<>();
+		lock.readLock().lock();
+		try {
+			Map<Long, Integer> pieces = new HashMap<>();
+			for (int i = 0; i <= distance; i++) {
+				String piece = key.substring(i * key.length() / (distance + 1),
+						(i + 1) * key.length() / (distance + 1));
+				for (Long id : containing(piece)) {
+					if (names.get(id).length() >= minLength) {
+						pieces.merge(id, 1, Integer::sum);
+					}
+				}
+			}
+			List<Map.Entry<Long, Integer>> candidates = new ArrayList<>(pieces.entrySet());
+			candidates.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+					.thenComparing(Map.Entry.comparingByKey()));
+			int checked = 0;
+			for (Map.Entry<Long, Integer> e : candidates) {
+				if ((++checked & 255) == 0 && System.nanoTime() > deadline) {
+					break;
+				}
+				int d = substringDistance(key, names.get(e.getKey()), distance);
+				if (d <= distance) {
+					ranked.add(new long[] { d, -e.getValue(), e.getKey() });
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		ranked.sort(Comparator.<long[]>comparingLong(x -> x[0]).thenComparingLong(x -> x[1])
+				.thenComparingLong(x -> x[2]));
+		return ranked.stream().limit(limit).map(x -> x[2]).toList();
+	}
+
+	public String nameOf(Long id) {
+		lock.readLock().lock();
+		try {
+			return names.get(id);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void put(Long id, String name) {
+		lock.writeLock().lock();
+		try {
+			remove(id);
+			add(id, name);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			String old = names.remove(id);
+			if (old == null) {
+				return;
+			}
+			for (Long gram : trigrams(old)) {
+				Set<Long> posting = postings.get(gram);
+				if (posting != null && posting.remove(id) && posting.isEmpty()) {
+					postings.remove(gram);
+				}
+			}
+			for (Integer gram : bigrams(old)) {
+				Set<Long> posting = bigramPostings.get(gram);
+				if (posting != null && posting.remove(id) && posting.isEmpty()) {
+					bigramPostings.remove(gram);
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void add(Long id, String name) {
+		if (name == null) {
+			return;
+		}
+		String key = normalize(name);
+		names.put(id, key);
+		for (Long gram : trigrams(key)) {
+			postings.computeIfAbsent(gram, x -> new HashSet<>()).add(id);
+		}
+		for (Integer gram : bigrams(key)) {
+			bigramPostings.computeIfAbsent(gram, x -> new HashSet<>()).add(id);
+		}
+	}
+
+	/**
+	 * Nomes que contêm {@code piece} (com pelo menos {@link #PIECE} caracteres).
+	 */
+	private Set<Long> containing(String piece) {
+		if (piece.length() < GRAM) {
+			return bigramPostings.getOrDefault(bigrams(piece).iterator().next(), Set.of());
+		}
+		Set<Long> smallest = null;
+		for (Long gram : trigrams(piece)) {
+			Set<Long> posting = postings.get(gram);
+			if (posting == null) {
+				return Set.of();
+			}
+			if (smallest == null || posting.size() < smallest.size()) {
+				smallest = posting;
+			}
+		}
+		Set<Long> result = new HashSet<>();
+		for (Long id : smallest) {
+			if (names.get(id).contains(piece)) {
+				result.add(id);
+			}
+		}
+		return result;
+	}
+
+	private Comparator<Long> comparator(Sort sort) {
+		Comparator<Long> result = null;
+		for (Sort.Order order : sort) {
+			Comparator<Long> next = order.getProperty().equals("name")
+					? Comparator.comparing(names::get)
+					: Comparator.naturalOrder();
+			if (order.isDescending()) {
+				next = next.reversed();
+			}
+			result = (result == null) ? next : result.thenComparing(next);
+		}
+		return (result == null) ? Comparator.naturalOrder() : result.thenComparing(Comparator.naturalOrder());
+	}
+
+	private static int substringDistance(String pattern, String text, int maxDistance) {
+		int[] previous = new int[pattern.length() + 1];
+		int[] current = new int[pattern.length() + 1];
+		for (int i = 0; i <= pattern.length(); i++) {
+			previous[i] = i;
+		}
+		int best = previous[pattern.length()];
+		for (int j = 1; j <= text.length(); j++) {
+			current[0] = 0;
+			for (int i = 1; i <= pattern.length(); i++) {
+				int cost = (pattern.charAt(i - 1) == text.charAt(j - 1)) ? 0 : 1;
+				current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+			}
+			best = Math.min(best, current[pattern.length()]);
+			if (best == 0) {
+				return 0;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return (best <= maxDistance) ? best : maxDistance + 1;
+	}
+
+	private static Set<Long> trigrams(String key) {
+		Set<Long> result = new HashSet<>();
+		for (int i = 0; i + GRAM <= key.length(); i++) {
+			result.add(((long) key.charAt(i) << 32) | ((long) key.charAt(i + 1) << 16) | key.charAt(i + 2));
+		}
+		return result;
+	}
+
+	private static Set<Integer> bigrams(String key) {
+		Set<Integer> result = new HashSet<>();
+		for (int i = 0; i + PIECE <= key.length(); i++) {
+			result.add((key.charAt(i) << 16) | key.charAt(i + 1));
+		}
+		return result;
+	}
+
+	private static String normalize(String value) {
+		return value.toUpperCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,250 @@
+package com.devmarrima.dscommerce_list.services.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.dto.ProductSuggestionDTO;
+import com.devmarrima.dscommerce_list.projections.ProductSuggestProjection;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+/**
+ * Autocompletar por prefixo. Os nomes normalizados ficam ordenados em uma skip
+ * list, então um prefixo vira um intervalo contíguo. Todo prefixo de até
+ * {@code max-prefix-length} caracteres cujo intervalo tem mais de {@code top-k}
+ * nomes guarda a lista já ordenada dos {@code top-k} mais vendidos, atualizada
+ * a cada venda, cancelamento, inclusão e remoção; os demais intervalos (os
+ * pequenos e os de prefixos mais longos) são percorridos na hora. Uma venda no
+ * máximo faz o produto subir ou entrar nas listas dos prefixos do seu nome; já
+ * um cancelamento ou a remoção de um produto listado pode trazer para a lista
+ * um produto que estava fora dela, então o intervalo é percorrido de novo.
+ */
+@Component
+public class ProductSuggestIndex implements SmartInitializingSingleton {
+
+	private static final char SEPARATOR = '\u0000';
+
+	@Autowired
+	private ProductRepository repository;
+
+	@Value("${products.suggest.top-k}")
+	private int topK;
+
+	@Value("${products.suggest.max-prefix-length}")
+	private int maxPrefixLength;
+
+	private final ConcurrentSkipListMap<String, ProductSuggestionDTO> entries = new ConcurrentSkipListMap<>();
+	private final Map<Long, String> keys = new ConcurrentHashMap<>();
+	private final Map<Long, Long> weights = new ConcurrentHashMap<>();
+	private final Map<String, List<ProductSuggestionDTO>> tops = new ConcurrentHashMap<>();
+	private final Comparator<ProductSuggestionDTO> byWeight = Comparator
+			.comparingLong((ProductSuggestionDTO x) -> weights.getOrDefault(x.getId(), 0L)).reversed()
+			.thenComparing(ProductSuggestionDTO::getName).thenComparing(ProductSuggestionDTO::getId);
+
+	@Override
+	public synchronized void afterSingletonsInstantiated() {
+		for (ProductSuggestProjection p : repository.searchAllSuggestions()) {
+			weights.put(p.getId(), p.getWeight());
+			if (p.getName() != null) {
+				String key = normalize(p.getName()) + SEPARATOR + p.getId();
+				keys.put(p.getId(), key);
+				entries.put(key, new ProductSuggestionDTO(p.getId(), p.getName()));
+			}
+		}
+		rebuildAll();
+	}
+
+	public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+		String from = normalize(prefix);
+		List<ProductSuggestionDTO> top = tops.get(from);
+		if (top == null) {
+			top = best(from, Math.min(limit, topK));
+		}
+		return List.copyOf(top.subList(0, Math.min(limit, top.size())));
+	}
+
+	public synchronized void put(Long id, String name) {
+		removeKey(id);
+		if (name == null) {
+			return;
+		}
+		String key = normalize(name) + SEPARATOR + id;
+		ProductSuggestionDTO entry = new ProductSuggestionDTO(id, name);
+		keys.put(id, key);
+		entries.put(key, entry);
+		for (String prefix : prefixes(key)) {
+			if (tops.containsKey(prefix)) {
+				offer(prefix, entry);
+			} else if (exceedsTopK(prefix)) {
+				rebuild(prefix);
+			}
+		}
+	}
+
+	public synchronized void remove(Long id) {
+		removeKey(id);
+		weights.remove(id);
+	}
+
+	/**
+	 * @param quantity negativo para desfazer uma venda (pedido cancelado)
+	 */
+	public synchronized void addWeight(Long id, long quantity) {
+		weights.merge(id, quantity, Long::sum);
+		String key = keys.get(id);
+		if (key == null) {
+			return;
+		}
+		ProductSuggestionDTO entry = entries.get(key);
+		for (String prefix : prefixes(key)) {
+			List<ProductSuggestionDTO> top = tops.get(prefix);
+			if (top == null) {
+				continue;
+			}
+			if (quantity >= 0) {
+				offer(prefix, entry);
+			} else if (top.stream().anyMatch(x -> x.getId().equals(id))) {
+				rebuild(prefix);
+			}
+		}
+	}
+
+	private void removeKey(Long id) {
+		String key = keys.remove(id);
+		if (key == null || entries.remove(key) == null) {
+			return;
+		}
+		for (String prefix : prefixes(key)) {
+			List<ProductSuggestionDTO> top = tops.get(prefix);
+			if (top == null || top.stream().noneMatch(x -> x.getId().equals(id))) {
+				continue;
+			}
+			if (exceedsTopK(prefix)) {
+				rebuild(prefix);
+			} else {
+				tops.remove(prefix);
+			}
+		}
+	}
+
+	/**
+	 * Coloca (ou reposiciona) {@code entry} na lista do prefixo, se o peso
+	 * atual dela couber entre os {@code top-k}.
+	 */
+	private void offer(String prefix, ProductSuggestionDTO entry) {
+		List<ProductSuggestionDTO> top = tops.get(prefix);
+		boolean listed = top.stream().anyMatch(x -> x.getId().equals(entry.getId()));
+		if (!listed && top.size() >= topK && byWeight.compare(entry, top.get(top.size() - 1)) >= 0) {
+			return;
+		}
+		List<ProductSuggestionDTO> result = new ArrayList<>(top.size() + 1);
+		for (ProductSuggestionDTO x : top) {
+			if (!x.getId().equals(entry.getId())) {
+				result.add(x);
+			}
+		}
+		int pos = Collections.binarySearch(result, entry, byWeight);
+		result.add((pos < 0) ? -pos - 1 : pos, entry);
+		if (result.size() > topK) {
+			result.remove(result.size() - 1);
+		}
+		tops.put(prefix, List.copyOf(result));
+	}
+
+	private void rebuild(String prefix) {
+		tops.put(prefix, List.copyOf(best(prefix, topK)));
+	}
+
+	/**
+	 * Os {@code k} mais vendidos do intervalo do prefixo, já ordenados.
+	 */
+	private List<ProductSuggestionDTO> best(String prefix, int k) {
+		PriorityQueue<ProductSuggestionDTO> heap = new PriorityQueue<>(k + 1, byWeight.reversed());
+		for (ProductSuggestionDTO candidate : range(prefix).values()) {
+			heap.add(candidate);
+			if (heap.size() > k) {
+				heap.poll();
+			}
+		}
+		List<ProductSuggestionDTO> result = new ArrayList<>(heap);
+		result.sort(byWeight);
+		return result;
+	}
+
+	/**
+	 * Monta as listas de uma vez, percorrendo os nomes ordenados uma vez por
+	 * comprimento de prefixo: os nomes com o mesmo prefixo são vizinhos.
+	 */
+	private void rebuildAll() {
+		tops.clear();
+		List<String> sorted = new ArrayList<>(entries.keySet());
+		int maxLength = 0;
+		for (String key : sorted) {
+			maxLength = Math.max(maxLength, Math.min(key.indexOf(SEPARATOR), maxPrefixLength));
+		}
+		for (int length = 0; length <= maxLength; length++) {
+			int start = 0;
+			while (start < sorted.size()) {
+				String first = sorted.get(start);
+				if (first.indexOf(SEPARATOR) < length) {
+					start++;
+					continue;
+				}
+				String prefix = first.substring(0, length);
+				int end = start + 1;
+				while (end < sorted.size() && sorted.get(end).startsWith(prefix)) {
+					end++;
+				}
+				if (end - start > topK) {
+					rebuild(prefix);
+				}
+				start = end;
+			}
+		}
+	}
+
+	private boolean exceedsTopK(String prefix) {
+		Iterator<String> it = range(prefix).keySet().iterator();
+		for (int i = 0; i <= topK; i++) {
+			if (!it.hasNext()) {
+				return false;
+			}
+			it.next();
+		}
+		return true;
+	}
+
+	private ConcurrentNavigableMap<String, ProductSuggestionDTO> range(String prefix) {
+		return entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+	}
+
+	/**
+	 * Prefixos do nome normalizado em {@code key} que podem ter lista guardada,
+	 * do vazio até {@code max-prefix-length} caracteres.
+	 */
+	private List<String> prefixes(String key) {
+		int length = Math.min(key.indexOf(SEPARATOR), maxPrefixLength);
+		List<String> result = new ArrayList<>(length + 1);
+		for (int i = 0; i <= length; i++) {
+			result.add(key.substring(0, i));
+		}
+		return result;
+	}
+
+	private static String normalize(String value) {
+		return value.toUpperCase(Locale.ROOT);
+	}
+}
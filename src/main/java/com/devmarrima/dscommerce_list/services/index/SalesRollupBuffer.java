@@ -0,0 +1,128 @@
+package com.devmarrima.dscommerce_list.services.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.entities.SalesDimension;
+import com.devmarrima.dscommerce_list.projections.ProductFacetProjection;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+/**
+ * Vendas ainda não gravadas em {@code tb_sales_rollup}, somadas por produto,
+ * categoria e dia (UTC). Quem registra vendas segura a trava de leitura; a
+ * gravação periódica troca o mapa inteiro sob a trava de escrita, então nenhuma
+ * soma se perde entre a cópia e a troca.
+ */
+@Component
+public class SalesRollupBuffer implements SmartInitializingSingleton {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<Key, Delta> deltas = new ConcurrentHashMap<>();
+	private final Map<Long, List<Long>> categories = new ConcurrentHashMap<>();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		for (ProductFacetProjection p : productRepository.searchAllFacets()) {
+			if (p.getCategoryId() != null) {
+				categories.computeIfAbsent(p.getId(), x -> new ArrayList<>()).add(p.getCategoryId());
+			}
+		}
+	}
+
+	public void putCategories(Long productId, Collection<Long> categoryIds) {
+		categories.put(productId, List.copyOf(categoryIds));
+	}
+
+	public void removeCategories(Long productId) {
+		categories.remove(productId);
+	}
+
+	/**
+	 * Categorias atuais do produto, que o pedido guarda como as categorias da
+	 * venda.
+	 */
+	public List<Long> categoriesOf(Long productId) {
+		return categories.getOrDefault(productId, List.of());
+	}
+
+	/**
+	 * @param categoryIds categorias registradas na venda, não as atuais
+	 * @param units       negativo para desfazer uma venda (pedido cancelado)
+	 */
+	public void add(Instant moment, Long productId, Collection<Long> categoryIds, long units, double price) {
+		LocalDate day = LocalDate.ofInstant(moment, ZoneOffset.UTC);
+		double revenue = units * price;
+		lock.readLock().lock();
+		try {
+			deltas.computeIfAbsent(new Key(SalesDimension.PRODUCT, productId, day), x -> new Delta()).add(units,
+					revenue);
+			for (Long categoryId : categoryIds) {
+				deltas.computeIfAbsent(new Key(SalesDimension.CATEGORY, categoryId, day), x -> new Delta()).add(units,
+						revenue);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public Map<Key, Delta> drain() {
+		lock.writeLock().lock();
+		try {
+			Map<Key, Delta> result = deltas;
+			deltas = new ConcurrentHashMap<>();
+			return result;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Devolve ao buffer somas que não puderam ser gravadas.
+	 */
+	public void restore(Map<Key, Delta> failed) {
+		lock.readLock().lock();
+		try {
+			for (Map.Entry<Key, Delta> e : failed.entrySet()) {
+				deltas.computeIfAbsent(e.getKey(), x -> new Delta()).add(e.getValue().units(), e.getValue().revenue());
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public record Key(SalesDimension dimension, Long id, LocalDate day) {
+	}
+
+	public static class Delta {
+
+		private long units;
+		private double revenue;
+
+		synchronized void add(long units, double revenue) {
+			this.units += units;
+			this.revenue += revenue;
+		}
+
+		public synchronized long units() {
+			return units;
+		}
+
+		public synchronized double revenue() {
+			return revenue;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.devmarrima.dscommerce_list.services.outbox;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Acrescenta cada lote a um arquivo NDJSON e força a escrita em disco antes de
+ * confirmar a publicação.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${outbox.sink.file}")
+	private Path file;
+
+	@Override
+	public synchronized void publish(List<OutboxEvent> events) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (OutboxEvent event : events) {
+			Map<String, Object> record = new LinkedHashMap<>();
+			record.put("id", event.getId());
+			record.put("type", event.getType());
+			record.put("aggregateId", event.getAggregateId());
+			record.put("createdAt", event.getCreatedAt());
+			record.put("payload", objectMapper.readTree(event.getPayload()));
+			lines.append(objectMapper.writeValueAsString(record)).append('\n');
+		}
+		try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+				StandardOpenOption.DSYNC)) {
+			out.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
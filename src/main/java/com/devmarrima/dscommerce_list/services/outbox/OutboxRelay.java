@@ -0,0 +1,134 @@
+package com.devmarrima.dscommerce_list.services.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Thread que drena o outbox em lotes de até {@code batch-size} eventos. Enquanto
+ * houver lotes cheios ela segue sem pausa; quando o outbox esvazia, espera
+ * {@code poll-interval-millis}. Falhas do destino também esperam esse
+ * intervalo antes de tentar o mesmo lote de novo. O gauge
+ * {@code outbox.relay.oldest.lag.millis} é a idade do evento mais antigo ainda
+ * no outbox, então continua crescendo enquanto o destino falhar.
+ */
+@Component
+public class OutboxRelay {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+	@Autowired
+	private OutboxService service;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Value("${outbox.relay.enabled}")
+	private boolean enabled;
+
+	@Value("${outbox.relay.batch-size}")
+	private int batchSize;
+
+	@Value("${outbox.relay.poll-interval-millis}")
+	private long pollIntervalMillis;
+
+	private volatile Instant oldest;
+	private Counter published;
+	private Counter failures;
+	private DistributionSummary batchSizes;
+	private Timer lag;
+	private Thread relay;
+	private volatile boolean running;
+
+	@PostConstruct
+	void start() {
+		if (!enabled) {
+			return;
+		}
+		published = Counter.builder("outbox.relay.published").register(registry);
+		failures = Counter.builder("outbox.relay.failures").register(registry);
+		batchSizes = DistributionSummary.builder("outbox.relay.batch.size").register(registry);
+		lag = Timer.builder("outbox.relay.lag").register(registry);
+		Gauge.builder("outbox.relay.oldest.lag.millis", this, OutboxRelay::oldestLagMillis).register(registry);
+		running = true;
+		relay = new Thread(this::run, "outbox-relay");
+		relay.setDaemon(true);
+		relay.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		if (relay != null) {
+			running = false;
+			relay.interrupt();
+			relay.join(TimeUnit.SECONDS.toMillis(10));
+		}
+	}
+
+	private void run() {
+		while (running) {
+			int count;
+			try {
+				List<OutboxEvent> events = service.relay(batchSize);
+				count = events.size();
+				record(events);
+			} catch (RuntimeException e) {
+				failures.increment();
+				logger.warn("Falha ao publicar eventos do outbox", e);
+				count = 0;
+				refreshOldest();
+			}
+			if (count < batchSize) {
+				try {
+					Thread.sleep(pollIntervalMillis);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	private void record(List<OutboxEvent> events) {
+		if (events.isEmpty()) {
+			oldest = null;
+			return;
+		}
+		Instant now = Instant.now();
+		published.increment(events.size());
+		batchSizes.record(events.size());
+		for (OutboxEvent event : events) {
+			lag.record(Duration.between(event.getCreatedAt(), now));
+		}
+		refreshOldest();
+	}
+
+	private void refreshOldest() {
+		try {
+			oldest = service.oldestCreatedAt();
+		} catch (RuntimeException e) {
+			logger.warn("Falha ao consultar o evento mais antigo do outbox", e);
+		}
+	}
+
+	private double oldestLagMillis() {
+		Instant value = oldest;
+		return (value == null) ? 0 : Duration.between(value, Instant.now()).toMillis();
+	}
+}
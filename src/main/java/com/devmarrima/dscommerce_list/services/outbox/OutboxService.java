@@ -0,0 +1,77 @@
+package com.devmarrima.dscommerce_list.services.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+import com.devmarrima.dscommerce_list.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class OutboxService {
+
+	public static final String ORDER_CREATED = "ORDER_CREATED";
+	public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@Autowired
+	private OutboxSink sink;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Cria o evento para ser gravado na transação de quem chama.
+	 */
+	public OutboxEvent event(String type, Long aggregateId, Object payload) {
+		try {
+			return new OutboxEvent(type, aggregateId, objectMapper.writeValueAsString(payload), Instant.now());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void saveAll(List<OutboxEvent> events) {
+		repository.saveAll(events);
+	}
+
+	/**
+	 * @return a criação do evento mais antigo ainda no outbox, ou {@code null} se
+	 *         estiver vazio
+	 */
+	@Transactional(readOnly = true)
+	public Instant oldestCreatedAt() {
+		return repository.searchOldestCreatedAt();
+	}
+
+	/**
+	 * Publica e remove os eventos mais antigos. As linhas ficam travadas (e são
+	 * puladas por outros relays) até a remoção ser confirmada.
+	 */
+	@Transactional
+	public List<OutboxEvent> relay(int batchSize) {
+		List<OutboxEvent> events = repository.searchOldest(PageRequest.of(0, batchSize));
+		if (events.isEmpty()) {
+			return events;
+		}
+		try {
+			sink.publish(events);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		repository.deleteAllInBatch(events);
+		return events;
+	}
+}
@@ -0,0 +1,17 @@
+package com.devmarrima.dscommerce_list.services.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+
+/**
+ * Destino dos eventos do outbox. A entrega é pelo menos uma vez: um lote pode
+ * ser publicado de novo se a remoção das linhas falhar depois da publicação,
+ * então quem consome deve tolerar eventos repetidos (o id do evento é único).
+ */
+public interface OutboxSink {
+
+	void publish(List<OutboxEvent> events) throws IOException;
+
+}
@@ -0,0 +1,53 @@
+package com.devmarrima.dscommerce_list.services.outbox;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.devmarrima.dscommerce_list.entities.OutboxEvent;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Entrega os eventos a consumidores no mesmo processo, que os retiram com
+ * {@link #queue()}. A fila tem no máximo {@code outbox.sink.queue-capacity}
+ * eventos: se o lote não couber, nada é enfileirado e a publicação falha, então
+ * as linhas continuam no outbox até os consumidores liberarem espaço. Eventos
+ * já enfileirados saíram do outbox e se perdem se o processo parar antes de
+ * serem consumidos.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "queue")
+public class QueueOutboxSink implements OutboxSink {
+
+	@Value("${outbox.sink.queue-capacity}")
+	private int capacity;
+
+	private BlockingQueue<OutboxEvent> queue;
+
+	@PostConstruct
+	void init() {
+		queue = new ArrayBlockingQueue<>(capacity);
+	}
+
+	@Override
+	public synchronized void publish(List<OutboxEvent> events) throws IOException {
+		if (queue.remainingCapacity() < events.size()) {
+			throw new IOException("Fila do outbox cheia");
+		}
+		for (OutboxEvent event : events) {
+			if (!queue.offer(event)) {
+				throw new IOException("Fila do outbox cheia");
+			}
+		}
+	}
+
+	public BlockingQueue<OutboxEvent> queue() {
+		return queue;
+	}
+}
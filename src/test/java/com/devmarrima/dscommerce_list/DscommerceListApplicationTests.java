@@ -3,7 +3,7 @@ package com.devmarrima.dscommerce_list;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "outbox.relay.enabled=false")
 class DscommerceListApplicationTests {
 
 	@Test
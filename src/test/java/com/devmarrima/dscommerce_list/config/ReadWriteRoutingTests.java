@@ -0,0 +1,118 @@
+package com.devmarrima.dscommerce_list.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devmarrima.dscommerce_list.services.ProductService;
+import com.devmarrima.dscommerce_list.services.cache.ProductDetailCache;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rwprimary",
+		"datasource.replica.jdbc-url=jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1",
+		"datasource.replica.username=sa",
+		"datasource.replica.max-lag-millis=1000",
+		"outbox.relay.enabled=false" })
+class ReadWriteRoutingTests {
+
+	/**
+	 * O Hibernate cria o schema e roda o import.sql só no primário. Antes dos
+	 * carregamentos de inicialização (que são leituras e vão para a réplica), o
+	 * conteúdo do primário é copiado para a réplica com SCRIPT/RUNSCRIPT do H2.
+	 */
+	@TestConfiguration
+	static class ReplicaCopyConfig {
+
+		@Bean
+		@DependsOn("entityManagerFactory")
+		ReplicaCopy replicaCopy(@Qualifier("primaryDataSource") DataSource primary) {
+			return new ReplicaCopy(primary);
+		}
+	}
+
+	static class ReplicaCopy {
+
+		ReplicaCopy(DataSource primary) {
+			List<String> script = new JdbcTemplate(primary).queryForList("SCRIPT NOPASSWORDS", String.class);
+			JdbcTemplate replica = new JdbcTemplate(
+					new DriverManagerDataSource("jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1", "sa", ""));
+			script.forEach(replica::execute);
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductDetailCache detailCache;
+
+	@AfterEach
+	void tearDown() {
+		lagMonitor.report(0);
+	}
+
+	@Test
+	void readOnlyTransactionShouldUseReplica() {
+		Assertions.assertEquals("RWREPLICA", databaseName(true));
+	}
+
+	@Test
+	void replicaShouldHaveSameDataAsPrimary() {
+		Assertions.assertEquals(countProducts(false), countProducts(true));
+	}
+
+	@Test
+	void productDetailShouldBeLoadedFromPrimary() {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.executeWithoutResult(status -> jdbcTemplate.update("UPDATE tb_product SET name = 'Escrito no primário' WHERE id = 1"));
+		detailCache.evict(1L);
+		Assertions.assertEquals("Escrito no primário", productService.findById(1L).getBody().getName());
+	}
+
+	@Test
+	void readWriteTransactionShouldUsePrimary() {
+		Assertions.assertEquals("RWPRIMARY", databaseName(false));
+	}
+
+	@Test
+	void readOnlyTransactionShouldFallBackToPrimaryWhenReplicaLags() {
+		lagMonitor.report(5000);
+		Assertions.assertEquals("RWPRIMARY", databaseName(true));
+	}
+
+	private String databaseName(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class)).toUpperCase();
+	}
+
+	private Long countProducts(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class));
+	}
+
+}
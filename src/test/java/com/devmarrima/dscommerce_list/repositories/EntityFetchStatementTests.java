@@ -0,0 +1,60 @@
+package com.devmarrima.dscommerce_list.repositories;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.dto.ProductDTO;
+import com.devmarrima.dscommerce_list.entities.Order;
+import com.devmarrima.dscommerce_list.entities.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"outbox.relay.enabled=false" })
+@Transactional
+class EntityFetchStatementTests {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void productFindByIdShouldLoadCategoriesInSingleStatement() {
+		Product product = productRepository.findById(1L).get();
+		ProductDTO dto = new ProductDTO(product);
+
+		Assertions.assertFalse(dto.getCategories().isEmpty());
+		Assertions.assertEquals(1L, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void orderFindByIdShouldLoadItemsProductsAndPaymentInSingleStatement() {
+		Order order = orderRepository.findById(1L).get();
+		OrderDTO dto = new OrderDTO(order);
+
+		Assertions.assertEquals(2, dto.getItems().size());
+		Assertions.assertNotNull(dto.getPayment());
+		Assertions.assertEquals(1L, statistics.getPrepareStatementCount());
+	}
+
+}
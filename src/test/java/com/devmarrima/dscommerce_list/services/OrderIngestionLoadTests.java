@@ -0,0 +1,106 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.dto.OrderItemDTO;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Carga de {@code POST /orders} com e sem commit em grupo: as mesmas threads
+ * gravam pedidos direto pelo {@link OrderService} e depois pela fila do
+ * {@link OrderIngestionService}. Publica as duas vazões e o tamanho médio dos
+ * lotes. O H2 em memória não faz fsync, então o ganho aqui vem só de menos
+ * transações; a asserção exige que os lotes de fato agrupem pedidos e que a
+ * vazão com a fila supere a gravação direta.
+ */
+@DirtiesContext
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:ingestionload", "spring.jpa.show-sql=false",
+		"orders.ingestion.group-commit.enabled=true", "outbox.relay.enabled=false" })
+class OrderIngestionLoadTests {
+
+	private static final int THREADS = 32;
+	private static final int ORDERS = 2_000;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderIngestionService ingestionService;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Test
+	void groupCommitShouldBatchConcurrentOrders(TestReporter reporter) throws InterruptedException {
+		double direct = ordersPerSecond(dto -> CompletableFuture.completedFuture(orderService.insert(dto)));
+		double grouped = ordersPerSecond(ingestionService::submit);
+		DistributionSummary batches = registry.get("orders.ingestion.batch.size").summary();
+		reporter.publishEntry("direct.ordersPerSecond", String.format("%.1f", direct));
+		reporter.publishEntry("groupCommit.ordersPerSecond", String.format("%.1f", grouped));
+		reporter.publishEntry("groupCommit.meanBatchSize", String.format("%.1f", batches.mean()));
+
+		Assertions.assertEquals(ORDERS, (long) batches.totalAmount());
+		Assertions.assertTrue(batches.mean() > 1, "Lotes com " + batches.mean() + " pedidos em média");
+		Assertions.assertTrue(grouped > direct, "Commit em grupo " + grouped + " pedidos/s, direto " + direct);
+	}
+
+	private double ordersPerSecond(Function<OrderDTO, CompletableFuture<OrderDTO>> place)
+			throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<OrderDTO>> results = new ArrayList<>();
+		for (int i = 0; i < ORDERS; i++) {
+			CompletableFuture<OrderDTO> result = new CompletableFuture<>();
+			results.add(result);
+			long productId = 1 + i % 3;
+			pool.execute(() -> {
+				OrderDTO dto = new OrderDTO();
+				dto.getItems().add(new OrderItemDTO(productId, null, null, 1, null));
+				Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").claim("username", "maria@gmail.com")
+						.build();
+				SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+				try {
+					start.await();
+					place.apply(dto).whenComplete((x, e) -> {
+						if (e == null) {
+							result.complete(x);
+						} else {
+							result.completeExceptionally(e);
+						}
+					});
+				} catch (InterruptedException | RuntimeException e) {
+					result.completeExceptionally(e);
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+			});
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+		return ORDERS / seconds;
+	}
+}
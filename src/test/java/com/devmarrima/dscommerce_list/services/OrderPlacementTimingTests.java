@@ -0,0 +1,77 @@
+package com.devmarrima.dscommerce_list.services;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.dto.OrderItemDTO;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Gravação de pedidos com 1, 50 e 500 itens. Publica a mediana do tempo e o
+ * número de comandos preparados por pedido, que não pode crescer com um
+ * comando por item: produtos saem de uma consulta e os itens vão em lotes JDBC.
+ */
+@DirtiesContext
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:placementtiming", "spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=true", "outbox.relay.enabled=false" })
+class OrderPlacementTimingTests {
+
+	private static final int PRODUCTS = 500;
+	private static final int ITERATIONS = 20;
+	private static final int MAX_STATEMENTS = 10;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	void setUp() {
+		Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").claim("username", "maria@gmail.com").build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void statementsPerOrderShouldNotGrowWithLines(TestReporter reporter) {
+		TimingCatalog.seed(jdbcTemplate, 0, PRODUCTS);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (int lines : new int[] { 1, 50, 500 }) {
+			OrderDTO dto = new OrderDTO();
+			for (int i = 0; i < lines; i++) {
+				dto.getItems().add(new OrderItemDTO(TimingCatalog.FIRST_ID + i, null, null, 1, null));
+			}
+			statistics.clear();
+			Assertions.assertEquals(lines, orderService.insert(dto).getItems().size());
+			long statements = statistics.getPrepareStatementCount();
+
+			double millis = TimingCatalog.medianMillis(ITERATIONS, () -> orderService.insert(dto));
+			reporter.publishEntry("order." + lines + ".ms", String.format("%.2f", millis));
+			reporter.publishEntry("order." + lines + ".statements", String.valueOf(statements));
+
+			Assertions.assertTrue(statements <= MAX_STATEMENTS, lines + " itens: " + statements + " comandos");
+		}
+	}
+}
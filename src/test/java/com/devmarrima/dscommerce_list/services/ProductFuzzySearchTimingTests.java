@@ -0,0 +1,61 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
+import com.devmarrima.dscommerce_list.services.index.ProductNameIndex;
+
+/**
+ * Busca tolerante a erros sobre 100 mil nomes feitos de poucas palavras, o que
+ * torna quase todo nome candidato. Publica a mediana do tempo de cada termo.
+ * O orçamento {@code products.fuzzy.budget-millis} limita só a conferência da
+ * distância de edição; a coleta dos candidatos e a carga da página ficam fora
+ * dele, então o limite exigido é o dobro do orçamento.
+ */
+@DirtiesContext
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:fuzzytiming", "spring.jpa.show-sql=false",
+		"outbox.relay.enabled=false" })
+class ProductFuzzySearchTimingTests {
+
+	private static final int PRODUCTS = 100_000;
+	private static final int ITERATIONS = 30;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductNameIndex nameIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${products.fuzzy.budget-millis}")
+	private long budgetMillis;
+
+	@Test
+	void misspelledTermsShouldBeFoundWithinBudget(TestReporter reporter) {
+		TimingCatalog.seed(jdbcTemplate, 0, PRODUCTS);
+		nameIndex.afterSingletonsInstantiated();
+
+		for (String[] typo : new String[][] { { "macbok", "macbook" }, { "notebuk", "notebook" },
+				{ "impresora", "impressora" } }) {
+			List<ProductMinDTO> result = productService.findAllFuzzy(typo[0], null, 10);
+			Assertions.assertFalse(result.isEmpty(), typo[0]);
+			Assertions.assertTrue(result.get(0).getName().toLowerCase().contains(typo[1]),
+					typo[0] + " -> " + result.get(0).getName());
+
+			double millis = TimingCatalog.medianMillis(ITERATIONS, () -> productService.findAllFuzzy(typo[0], null, 10));
+			reporter.publishEntry("fuzzy." + typo[0] + ".ms", String.format("%.2f", millis));
+			Assertions.assertTrue(millis <= 2 * budgetMillis, typo[0] + ": " + millis + " ms");
+		}
+	}
+}
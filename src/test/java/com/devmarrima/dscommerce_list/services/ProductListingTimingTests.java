@@ -0,0 +1,107 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
+import com.devmarrima.dscommerce_list.entities.Product;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Listagem de {@link ProductMinDTO} por projeção JPQL contra a carga das
+ * entidades {@code Product} convertidas depois, com o mesmo filtro e a mesma
+ * contagem, em páginas de 100 e 1000 linhas. Mede a mediana do tempo e a
+ * memória alocada pela thread por página (o H2 em memória roda na mesma
+ * thread, então a alocação do banco entra igual nos dois lados).
+ */
+@DirtiesContext
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:listingtiming", "spring.jpa.show-sql=false",
+		"outbox.relay.enabled=false" })
+class ProductListingTimingTests {
+
+	private static final int PRODUCTS = 5_000;
+	private static final int ITERATIONS = 30;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void projectionShouldAllocateLessThanEntityMapping(TestReporter reporter) {
+		TimingCatalog.seed(jdbcTemplate, 0, PRODUCTS);
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		for (int size : new int[] { 100, 1000 }) {
+			Pageable pageable = PageRequest.of(0, size);
+			Supplier<List<ProductMinDTO>> projection = () -> readOnly
+					.execute(status -> productRepository.searchByName("", Integer.MAX_VALUE, pageable).getContent());
+			Supplier<List<ProductMinDTO>> entities = () -> readOnly.execute(status -> loadEntities(pageable));
+			Assertions.assertEquals(size, projection.get().size());
+			Assertions.assertEquals(size, entities.get().size());
+
+			double projectionMillis = TimingCatalog.medianMillis(ITERATIONS, projection::get);
+			double entityMillis = TimingCatalog.medianMillis(ITERATIONS, entities::get);
+			long projectionBytes = allocatedBytes(projection);
+			long entityBytes = allocatedBytes(entities);
+			reporter.publishEntry("projection." + size + ".ms", String.format("%.2f", projectionMillis));
+			reporter.publishEntry("entity." + size + ".ms", String.format("%.2f", entityMillis));
+			reporter.publishEntry("projection." + size + ".bytes", String.valueOf(projectionBytes));
+			reporter.publishEntry("entity." + size + ".bytes", String.valueOf(entityBytes));
+
+			Assertions.assertTrue(projectionBytes < entityBytes,
+					size + " linhas: projeção " + projectionBytes + " bytes, entidades " + entityBytes + " bytes");
+		}
+	}
+
+	/**
+	 * O caminho anterior à projeção: entidades gerenciadas, convertidas depois.
+	 */
+	private List<ProductMinDTO> loadEntities(Pageable pageable) {
+		entityManager
+				.createQuery("SELECT COUNT(obj) FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%'))",
+						Long.class)
+				.setParameter("name", "").getSingleResult();
+		return entityManager
+				.createQuery("SELECT obj FROM Product obj WHERE UPPER(obj.name) LIKE UPPER(CONCAT('%',:name,'%'))",
+						Product.class)
+				.setParameter("name", "").setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize()).getResultList().stream().map(ProductMinDTO::new).toList();
+	}
+
+	/**
+	 * Média de bytes alocados pela thread atual por execução.
+	 */
+	private static long allocatedBytes(Supplier<?> action) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		long before = threads.getThreadAllocatedBytes(thread);
+		for (int i = 0; i < ITERATIONS; i++) {
+			action.get();
+		}
+		return (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+	}
+}
@@ -0,0 +1,67 @@
+package com.devmarrima.dscommerce_list.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.devmarrima.dscommerce_list.dto.ProductMinDTO;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+import com.devmarrima.dscommerce_list.services.index.ProductNameIndex;
+
+/**
+ * Busca por nome pelo índice de trigramas contra a consulta {@code LIKE}, com
+ * 10 mil e 100 mil produtos. Os tempos são publicados no {@link TestReporter};
+ * a asserção só exige que o índice não seja mais lento que o {@code LIKE}.
+ */
+@DirtiesContext
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:namesearchtiming",
+		"spring.jpa.show-sql=false", "outbox.relay.enabled=false" })
+class ProductNameSearchTimingTests {
+
+	private static final int ITERATIONS = 30;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductNameIndex nameIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void indexSearchShouldNotBeSlowerThanLike(TestReporter reporter) {
+		Pageable pageable = PageRequest.of(0, 20);
+		String term = "book macbook";
+		int seeded = 0;
+		for (int size : new int[] { 10_000, 100_000 }) {
+			TimingCatalog.seed(jdbcTemplate, seeded, size);
+			seeded = size;
+			nameIndex.afterSingletonsInstantiated();
+
+			Page<ProductMinDTO> indexed = productService.findAll(term, pageable);
+			Page<ProductMinDTO> scanned = productRepository.searchByName(term, Integer.MAX_VALUE, pageable);
+			Assertions.assertTrue(indexed.getTotalElements() > 0);
+			Assertions.assertEquals(scanned.getTotalElements(), indexed.getTotalElements());
+
+			double indexMillis = TimingCatalog.medianMillis(ITERATIONS, () -> productService.findAll(term, pageable));
+			double likeMillis = TimingCatalog.medianMillis(ITERATIONS,
+					() -> productRepository.searchByName(term, Integer.MAX_VALUE, pageable));
+			reporter.publishEntry("index." + size + ".ms", String.format("%.2f", indexMillis));
+			reporter.publishEntry("like." + size + ".ms", String.format("%.2f", likeMillis));
+
+			Assertions.assertTrue(indexMillis <= likeMillis,
+					size + " produtos: índice " + indexMillis + " ms, LIKE " + likeMillis + " ms");
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.devmarrima.dscommerce_list.dto.OrderDTO;
+import com.devmarrima.dscommerce_list.dto.OrderItemDTO;
+import com.devmarrima.dscommerce_list.entities.Product;
+import com.devmarrima.dscommerce_list.repositories.ProductRepository;
+import com.devmarrima.dscommerce_list.services.exceptions.ConflictException;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:stocktest;LOCK_TIMEOUT=10000",
+		"outbox.relay.enabled=false" })
+class StockReservationTests {
+
+	private static final long HOT_PRODUCT_ID = 2L;
+	private static final int STOCK = 20;
+	private static final int ORDERS = 200;
+	private static final int THREADS = 16;
+
+	/**
+	 * Limite inferior folgado para o H2 em memória; serve para pegar regressões
+	 * grosseiras (por exemplo, uma trava global), não para medir o banco real.
+	 */
+	private static final double MIN_ORDERS_PER_SECOND = 20;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+
+	@BeforeEach
+	void setUp() {
+		setStock(STOCK);
+	}
+
+	@AfterEach
+	void tearDown() {
+		setStock(null);
+	}
+
+	@Test
+	void concurrentOrdersShouldNotOversellHotProduct(TestReporter reporter) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger placed = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		for (int i = 0; i < ORDERS; i++) {
+			pool.execute(() -> {
+				OrderDTO dto = new OrderDTO();
+				dto.getItems().add(new OrderItemDTO(HOT_PRODUCT_ID, null, null, 1, null));
+				SecurityContextHolder.getContext().setAuthentication(authentication("maria@gmail.com"));
+				try {
+					start.await();
+					orderService.insert(dto);
+					placed.incrementAndGet();
+				} catch (ConflictException e) {
+					rejected.incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					SecurityContextHolder.clearContext();
+				}
+			});
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+		double ordersPerSecond = ORDERS / ((System.nanoTime() - begin) / 1e9);
+		reporter.publishEntry("ordersPerSecond", String.format("%.1f", ordersPerSecond));
+
+		Assertions.assertTrue(ordersPerSecond >= MIN_ORDERS_PER_SECOND,
+				"Vazão abaixo do esperado: " + ordersPerSecond + " pedidos/s");
+		Assertions.assertEquals(STOCK, placed.get());
+		Assertions.assertEquals(ORDERS - STOCK, rejected.get());
+		Assertions.assertEquals(0, productRepository.findById(HOT_PRODUCT_ID).get().getStock());
+	}
+
+	private static JwtAuthenticationToken authentication(String username) {
+		Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").claim("username", username).build();
+		return new JwtAuthenticationToken(jwt);
+	}
+
+	private void setStock(Integer stock) {
+		Product product = productRepository.findById(HOT_PRODUCT_ID).get();
+		product.setStock(stock);
+		productRepository.save(product);
+	}
+
+}
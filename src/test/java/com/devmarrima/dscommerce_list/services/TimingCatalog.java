@@ -0,0 +1,65 @@
+package com.devmarrima.dscommerce_list.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Catálogo sintético para os testes de tempo. Os ids começam bem acima da
+ * sequência de produtos e os nomes são combinações determinísticas de poucas
+ * palavras, então cada palavra casa com uma fração conhecida do catálogo.
+ */
+final class TimingCatalog {
+
+	static final long FIRST_ID = 100_000L;
+
+	static final String[] WORDS = { "Macbook", "Notebook", "Monitor", "Teclado", "Mouse", "Cadeira", "Mesa",
+			"Headset", "Webcam", "Tablet", "Smartphone", "Impressora", "Roteador", "Caixa", "Livro", "Console" };
+
+	private static final int BATCH = 1000;
+
+	private TimingCatalog() {
+	}
+
+	static String name(int i) {
+		int n = WORDS.length;
+		return WORDS[i % n] + " " + WORDS[(i / n) % n] + " " + WORDS[(i / n / n) % n] + " " + i;
+	}
+
+	/**
+	 * Grava os produtos {@code from} (inclusive) a {@code to} (exclusive) do
+	 * catálogo, sem categoria e sem controle de estoque.
+	 */
+	static void seed(JdbcTemplate jdbcTemplate, int from, int to) {
+		List<Object[]> batch = new ArrayList<>(BATCH);
+		for (int i = from; i < to; i++) {
+			batch.add(new Object[] { FIRST_ID + i, name(i), 10.0 + i % 1000, "Descrição do produto " + i, "" });
+			if (batch.size() == BATCH || i == to - 1) {
+				jdbcTemplate.batchUpdate(
+						"INSERT INTO tb_product (id, name, price, description, img_url, version) VALUES (?, ?, ?, ?, ?, 0)",
+						batch);
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * Mediana, em milissegundos, de {@code iterations} execuções depois de
+	 * algumas execuções de aquecimento.
+	 */
+	static double medianMillis(int iterations, Runnable action) {
+		for (int i = 0; i < Math.max(3, iterations / 5); i++) {
+			action.run();
+		}
+		long[] samples = new long[iterations];
+		for (int i = 0; i < iterations; i++) {
+			long begin = System.nanoTime();
+			action.run();
+			samples[i] = System.nanoTime() - begin;
+		}
+		Arrays.sort(samples);
+		return samples[iterations / 2] / 1e6;
+	}
+}